@@ -0,0 +1,51 @@
+// k6 load test for the authenticated expense reads, used to compare the platform-thread
+// and virtual-thread execution modes. See loadtest/README.md.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EMAIL = __ENV.EMAIL;
+const PASSWORD = __ENV.PASSWORD;
+const YEAR = __ENV.YEAR || String(new Date().getFullYear());
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 200, duration: '30s' },
+                { target: 800, duration: '60s' },
+                { target: 800, duration: '60s' },
+                { target: 0, duration: '15s' },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/api/user/login`,
+        JSON.stringify({ email: EMAIL, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'logged in': (r) => r.status === 200 });
+    return { token: res.json('jwtToken') };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/expense/get/all/v2?year=${YEAR}`, null, params],
+        ['GET', `${BASE_URL}/api/expense/get/summary?year=${YEAR}`, null, params],
+        ['GET', `${BASE_URL}/api/user/get/balance`, null, params],
+    ]);
+    for (const res of responses) {
+        check(res, {
+            'ok': (r) => r.status === 200,
+            'shed': (r) => r.status !== 503,
+        });
+    }
+}
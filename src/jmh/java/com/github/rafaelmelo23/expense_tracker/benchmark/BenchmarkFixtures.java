@@ -0,0 +1,94 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic data shared by the benchmarks, so runs on different machines and
+ * branches measure the same inputs.
+ */
+final class BenchmarkFixtures {
+
+    static final int YEAR = 2025;
+
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final RecurrenceFrequency[] FREQUENCIES = RecurrenceFrequency.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    static LocalUser user() {
+        LocalUser user = new LocalUser();
+        user.setId(1L);
+        user.setEmail("benchmark@example.com");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setRole(Role.ROLE_USER);
+        user.setIsFirstLogin(false);
+        return user;
+    }
+
+    /**
+     * Expenses spread over {@link #YEAR}, with roughly one in ten recurrent.
+     */
+    static List<Expense> expenses(LocalUser user, int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i + 1);
+            expense.setUser(user);
+            expense.setName("Expense " + i);
+            expense.setDescription("Benchmark expense number " + i);
+            expense.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            expense.setAmount(BigDecimal.valueOf(random.nextInt(1, 500_000), 2));
+            expense.setDate(LocalDateTime.of(YEAR, random.nextInt(1, 13), random.nextInt(1, 29),
+                    random.nextInt(24), random.nextInt(60)));
+            expense.setIsRecurrent(random.nextInt(10) == 0);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    /**
+     * The rows {@code ExpenseDAO.findRelevantExpenses} would return for the given expenses.
+     */
+    static List<ExpenseRow> rows(List<Expense> expenses) {
+        return expenses.stream()
+                .map(e -> new ExpenseRow(e.getId(), e.getDate(), e.getAmount(), e.getName(), e.getCategory(),
+                        e.getDescription(), e.getIsRecurrent(), e.getRecurrenceFrequency()))
+                .toList();
+    }
+
+    /**
+     * Recurrence rules anchored over the ten years before {@link #YEAR}, with every frequency.
+     */
+    static List<Expense> recurrentExpenses(LocalUser user, int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i + 1);
+            expense.setUser(user);
+            expense.setName("Rule " + i);
+            expense.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            expense.setAmount(BigDecimal.valueOf(random.nextInt(1, 500_000), 2));
+            expense.setDate(LocalDateTime.of(YEAR - 10 + random.nextInt(10), random.nextInt(1, 13),
+                    random.nextInt(1, 32 - 3), 9, 0));
+            expense.setIsRecurrent(true);
+            expense.setRecurrenceFrequency(FREQUENCIES[random.nextInt(FREQUENCIES.length)]);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rafaelmelo23.expense_tracker.config.JacksonConfig;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseByMonthDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.LocalUserDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.service.AccountingSnapshotCache;
+import com.github.rafaelmelo23.expense_tracker.service.ExpenseRollupService;
+import com.github.rafaelmelo23.expense_tracker.service.ExpenseService;
+import com.github.rafaelmelo23.expense_tracker.service.PrincipalCache;
+import com.github.rafaelmelo23.expense_tracker.service.RealtimeEventPublisher;
+import com.github.rafaelmelo23.expense_tracker.service.SalaryBatchService;
+import com.github.rafaelmelo23.expense_tracker.service.UserDataVersionService;
+import com.github.rafaelmelo23.expense_tracker.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The in-memory part of the yearly expense reads: row to DTO mapping, grouping by
+ * month and JSON serialization with the application's {@link ObjectMapper}. The DAO is
+ * stubbed, so the numbers exclude the database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExpenseBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int expenseCount;
+
+    private List<ExpenseRow> expenses;
+    private ExpenseService expenseService;
+    private ExpenseByMonthDTO byMonth;
+    private ObjectMapper objectMapper;
+    private DateRange range;
+
+    @Setup
+    public void setup() {
+        LocalUser user = BenchmarkFixtures.user();
+        expenses = BenchmarkFixtures.rows(BenchmarkFixtures.expenses(user, expenseCount));
+        range = DateRange.ofYear(BenchmarkFixtures.YEAR);
+
+        ExpenseDAO expenseDAO = mock(ExpenseDAO.class);
+        UserService userService = mock(UserService.class);
+        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(expenseDAO.findRelevantExpenses(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(expenses);
+
+        expenseService = new ExpenseService(expenseDAO, userService, mock(UserAccountingDAO.class),
+                mock(LocalUserDAO.class), mock(PrincipalCache.class), mock(SalaryBatchService.class),
+                mock(ExpenseRollupService.class), mock(BalanceJournalDAO.class),
+                mock(AccountingSnapshotCache.class), mock(UserDataVersionService.class),
+                mock(RealtimeEventPublisher.class));
+        objectMapper = new JacksonConfig().objectMapper();
+        byMonth = expenseService.getYearlyExpensesByMonth(range);
+    }
+
+    @Benchmark
+    public void toDTO(Blackhole blackhole) {
+        for (ExpenseRow expense : expenses) {
+            blackhole.consume(ExpenseDTO.toDTO(expense));
+        }
+    }
+
+    @Benchmark
+    public ExpenseByMonthDTO groupByMonth() {
+        return expenseService.getYearlyExpensesByMonth(range);
+    }
+
+    @Benchmark
+    public byte[] serializeByMonth() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(byMonth);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.github.rafaelmelo23.expense_tracker.config.JacksonConfig;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.service.export.ExpenseExportFormat;
+import com.github.rafaelmelo23.expense_tracker.service.export.ExpenseExportWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Export writer throughput: {@code rows} rows written in each format, optionally gzipped,
+ * to a stream that only counts bytes. The rows cycle through a fixed pool, so the
+ * benchmark's own heap stays small and {@code -prof gc} shows the writers' allocation.
+ * The database cursor is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportBenchmark {
+
+    private static final int POOL_SIZE = 10_000;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"CSV", "JSON_LINES", "COLUMNAR"})
+    public ExpenseExportFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private JsonFactory jsonFactory;
+    private ExpenseExportRow[] pool;
+
+    @Setup
+    public void setup() {
+        jsonFactory = new JacksonConfig().objectMapper().getFactory();
+        List<Expense> expenses = BenchmarkFixtures.expenses(BenchmarkFixtures.user(), POOL_SIZE);
+        pool = expenses.stream()
+                .sorted(Comparator.comparing(Expense::getDate).thenComparing(Expense::getId))
+                .map(e -> new ExpenseExportRow(e.getId(), e.getDate(), e.getAmount(), e.getName(), e.getCategory(),
+                        e.getDescription(), e.getIsRecurrent(), e.getRecurrenceFrequency()))
+                .toArray(ExpenseExportRow[]::new);
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    @Benchmark
+    public long export() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(counter, 64 * 1024) : null;
+        ExpenseExportWriter writer = format.open(compressed != null ? compressed : counter, jsonFactory);
+        for (int i = 0; i < rows; i++) {
+            writer.write(pool[i % POOL_SIZE]);
+        }
+        writer.finish();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        return counter.bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
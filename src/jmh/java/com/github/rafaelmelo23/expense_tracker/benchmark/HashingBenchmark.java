@@ -0,0 +1,76 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.github.rafaelmelo23.expense_tracker.service.HashingService;
+import com.github.rafaelmelo23.expense_tracker.service.hashing.Argon2PasswordHasher;
+import com.github.rafaelmelo23.expense_tracker.service.hashing.BCryptPasswordHasher;
+import com.github.rafaelmelo23.expense_tracker.service.hashing.PasswordHasher;
+import com.github.rafaelmelo23.expense_tracker.service.hashing.Pbkdf2PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification, the CPU cost of a login, for each algorithm at the cost settings
+ * we would consider running with. Sampled, so the report includes p99 per setting on the
+ * machine it runs on; use it to pick {@code hashing.*} before changing them. Includes the
+ * hand-off to the hashing executor, as the login path pays it too.
+ *
+ * <p>Settings are {@code algorithm:cost}, where cost is the BCrypt log2 rounds, the PBKDF2
+ * iteration count or the Argon2 memory in KiB (with two passes).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"bcrypt:10", "bcrypt:12", "bcrypt:14",
+            "pbkdf2:310000", "pbkdf2:600000",
+            "argon2:19456", "argon2:65536"})
+    private String setting;
+
+    private ThreadPoolTaskExecutor executor;
+    private HashingService hashingService;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        String[] parts = setting.split(":");
+        int cost = Integer.parseInt(parts[1]);
+        PasswordHasher hasher = switch (parts[0]) {
+            case "bcrypt" -> new BCryptPasswordHasher(cost);
+            case "pbkdf2" -> new Pbkdf2PasswordHasher(cost);
+            case "argon2" -> new Argon2PasswordHasher(cost, 2, 1);
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + parts[0]);
+        };
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        hashingService = new HashingService(List.of(hasher), hasher.getName(), executor, new SimpleMeterRegistry());
+        hash = hashingService.hashPassword(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public boolean checkPassword() {
+        return hashingService.checkPassword(PASSWORD, hash);
+    }
+}
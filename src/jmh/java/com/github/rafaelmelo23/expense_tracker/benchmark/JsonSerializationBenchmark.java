@@ -0,0 +1,102 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.rafaelmelo23.expense_tracker.config.JacksonConfig;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseJsonSerializer;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expense list serialization to a byte-counting sink, from the entities the DAO returns:
+ * <ul>
+ *     <li>{@code reflectiveDTO}: the previous path, {@code ExpenseDTO.toDTO} per row and the
+ *     reflective bean serializer;</li>
+ *     <li>{@code handWrittenDTO}: the same DTOs through {@link ExpenseJsonSerializer}, as the
+ *     {@link JacksonConfig} mapper now does;</li>
+ *     <li>{@code entityStream}: entities written straight to the generator, as the streaming
+ *     endpoint does, with no DTO at all.</li>
+ * </ul>
+ * Divide {@code gc.alloc.rate.norm} by {@code expenseCount} for the allocation per expense.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int expenseCount;
+
+    private List<Expense> expenses;
+    private ObjectMapper reflective;
+    private ObjectMapper application;
+
+    @Setup
+    public void setup() {
+        expenses = BenchmarkFixtures.expenses(BenchmarkFixtures.user(), expenseCount);
+        reflective = new ObjectMapper().registerModule(new JavaTimeModule());
+        application = new JacksonConfig().objectMapper();
+    }
+
+    @Benchmark
+    public long reflectiveDTO() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        reflective.writeValue(out, expenses.stream().map(ExpenseDTO::toDTO).toList());
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long handWrittenDTO() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        application.writeValue(out, expenses.stream().map(ExpenseDTO::toDTO).toList());
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long entityStream() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonGenerator generator = application.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Expense expense : expenses) {
+                ExpenseJsonSerializer.writeExpense(generator, expense);
+            }
+            generator.writeEndArray();
+        }
+        return out.bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
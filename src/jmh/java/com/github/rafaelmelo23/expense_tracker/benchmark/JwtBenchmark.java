@@ -0,0 +1,66 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.github.rafaelmelo23.expense_tracker.dto.auth.VerifiedToken;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.service.JWTService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification. {@code verifyCached} is what an authenticated request
+ * pays once its token has been seen; {@code verifyUncached} uses a service whose cache
+ * holds nothing, so every call runs the HMAC check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtBenchmark {
+
+    private JWTService cachingService;
+    private JWTService uncachedService;
+    private LocalUser user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachingService = jwtService(10_000);
+        uncachedService = jwtService(0);
+        user = BenchmarkFixtures.user();
+        token = cachingService.generateJWT(user);
+        cachingService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cachingService.generateJWT(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachingService.verifyToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedService.verifyToken(token);
+    }
+
+    private static JWTService jwtService(long cacheMaximumSize) {
+        JWTService service = new JWTService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "algorithmKey", "benchmark-secret-key");
+        ReflectionTestUtils.setField(service, "issuer", "benchmark");
+        ReflectionTestUtils.setField(service, "expiryInSeconds", 3600);
+        ReflectionTestUtils.setField(service, "cacheMaximumSize", cacheMaximumSize);
+        service.postConstruct();
+        return service;
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rafaelmelo23.expense_tracker.config.JacksonConfig;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseColumnsDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes on the wire and serialization CPU of a year of {@code /api/expense/get/all}: the
+ * row shape written by the {@link JacksonConfig} mapper against the columnar shape, each
+ * with and without the gzip the server applies above its compression threshold. The
+ * {@code wireBytes} counter reports the size of one response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PayloadBenchmark {
+
+    public enum Shape {
+        ROWS,
+        COLUMNS
+    }
+
+    @Param({"100", "1000", "10000"})
+    public int expenseCount;
+
+    @Param({"ROWS", "COLUMNS"})
+    public Shape shape;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<ExpenseDTO> expenses;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        objectMapper = new JacksonConfig().objectMapper();
+        expenses = BenchmarkFixtures.expenses(BenchmarkFixtures.user(), expenseCount).stream()
+                .map(ExpenseDTO::toDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public long serialize(WireBytes counters) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(counter, 8 * 1024) : null;
+        OutputStream out = compressed != null ? compressed : counter;
+
+        // The columnar payload is built per request, so the transposition is part of its cost
+        Object body = shape == Shape.COLUMNS ? ExpenseColumnsDTO.of(expenses) : expenses;
+        objectMapper.writeValue(out, body);
+        if (compressed != null) {
+            compressed.finish();
+        }
+
+        counters.wireBytes = counter.bytes;
+        return counter.bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.github.rafaelmelo23.expense_tracker.ExpenseTrackerApplication;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseDAO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap per request of the yearly expense read against the test H2 database: the managed
+ * entity load it used to be, with the owning user loaded and every row tracked for dirty
+ * checking, against the read-only constructor projection. Run with {@code -prof gc} and
+ * compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final String ENTITY_QUERY =
+            "SELECT e FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = false " +
+            "AND e.date BETWEEN :start AND :end " +
+            "UNION ALL " +
+            "SELECT e FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = true AND e.date <= :end";
+
+    private static final long FIRST_EXPENSE_ID = 1_000_000L;
+
+    private static final LocalDateTime START = LocalDateTime.of(BenchmarkFixtures.YEAR, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(BenchmarkFixtures.YEAR, 12, 31, 23, 59);
+
+    @Param({"100", "1000"})
+    private int expenseCount;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseDAO expenseDAO;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+    private TransactionTemplate readOnlyTransaction;
+    private Long userId;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        expenseDAO = context.getBean(ExpenseDAO.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        LocalUser user = BenchmarkFixtures.user();
+        userId = user.getId();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO local_user (id, first_name, last_name, email, role, is_first_login) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                userId, user.getFirstName(), user.getLastName(), user.getEmail(), user.getRole().name(), false);
+        List<Expense> expenses = BenchmarkFixtures.expenses(user, expenseCount);
+        jdbcTemplate.batchUpdate("INSERT INTO expense (id, name, category, amount, date, description, " +
+                        "is_recurrent, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                expenses.stream().map(e -> new Object[]{FIRST_EXPENSE_ID + e.getId(), e.getName(),
+                        e.getCategory().name(), e.getAmount(), Timestamp.valueOf(e.getDate()),
+                        e.getDescription(), e.getIsRecurrent(), userId}).toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ExpenseDTO> managedEntities() {
+        return transaction.execute(status -> entityManager.createQuery(ENTITY_QUERY, Expense.class)
+                .setParameter("userId", userId)
+                .setParameter("start", START)
+                .setParameter("end", END)
+                .getResultList()
+                .stream()
+                .map(ExpenseDTO::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ExpenseDTO> readOnlyProjection() {
+        return readOnlyTransaction.execute(status -> expenseDAO.findRelevantExpenses(userId, START, END)
+                .stream()
+                .map(ExpenseDTO::toDTO)
+                .toList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.rafaelmelo23.expense_tracker.benchmark;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import com.github.rafaelmelo23.expense_tracker.service.RecurrenceExpander;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Month;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expansion of 1,000 recurrence rules anchored over the previous ten years into the
+ * current year, both as materialized occurrences (listing) and as per-month counts
+ * (summary).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecurrenceBenchmark {
+
+    private static final int RULES = 1_000;
+
+    private List<Expense> rules;
+    private DateRange year;
+    private DateRange[] months;
+
+    @Setup
+    public void setup() {
+        rules = BenchmarkFixtures.recurrentExpenses(BenchmarkFixtures.user(), RULES);
+        year = DateRange.ofYear(BenchmarkFixtures.YEAR);
+        months = new DateRange[12];
+        for (Month month : Month.values()) {
+            months[month.ordinal()] = DateRange.ofMonth(BenchmarkFixtures.YEAR, month.getValue());
+        }
+    }
+
+    @Benchmark
+    public void expandYear(Blackhole blackhole) {
+        for (Expense rule : rules) {
+            RecurrenceExpander.forEachOccurrence(rule.getDate(),
+                    RecurrenceFrequency.orDefault(rule.getRecurrenceFrequency()),
+                    year.getStart(), year.getEnd(), blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public long countByMonth() {
+        long occurrences = 0;
+        for (Expense rule : rules) {
+            RecurrenceFrequency frequency = RecurrenceFrequency.orDefault(rule.getRecurrenceFrequency());
+            for (DateRange month : months) {
+                occurrences += RecurrenceExpander.countOccurrences(
+                        rule.getDate(), frequency, month.getStart(), month.getEnd());
+            }
+        }
+        return occurrences;
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.rafaelmelo23.expense_tracker.api;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Content negotiation for the columnar JSON shape of the bulk read endpoints, where a list
+ * of objects is sent as one array per field instead of repeating every field name per row.
+ * Clients opt in with {@code Accept: application/vnd.expense-tracker.columnar+json}; a
+ * wildcard keeps the regular row shape.
+ */
+public final class ColumnarContent {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.expense-tracker.columnar+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private ColumnarContent() {
+    }
+
+    /**
+     * Whether the {@code Accept} header explicitly asks for the columnar shape.
+     */
+    public static boolean isRequested(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.equalsTypeAndSubtype(MEDIA_TYPE) && type.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Derives the columnar representation's ETag from the row one, so a cached response of
+     * one shape is never revalidated as the other.
+     */
+    public static String etag(String rowEtag) {
+        return rowEtag.substring(0, rowEtag.length() - 1) + "-c\"";
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.rafaelmelo23.expense_tracker.api;
+
+import java.util.Locale;
+
+/**
+ * {@code Accept-Encoding} negotiation for responses that compress their own stream instead
+ * of relying on the container, such as the expense export.
+ */
+public final class ContentEncoding {
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * Whether the header accepts gzip, honouring q-values: {@code gzip;q=0} refuses it, and
+     * a wildcard only applies when gzip is not listed explicitly.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality(parts);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality(parts);
+            }
+        }
+
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
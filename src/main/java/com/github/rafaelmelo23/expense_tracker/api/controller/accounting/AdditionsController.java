@@ -1,9 +1,14 @@
 package com.github.rafaelmelo23.expense_tracker.api.controller.accounting;
 
+import com.github.rafaelmelo23.expense_tracker.api.ColumnarContent;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsColumnsDTO;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO;
 import com.github.rafaelmelo23.expense_tracker.service.AccountingService;
+import com.github.rafaelmelo23.expense_tracker.service.UserDataVersionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.nio.file.AccessDeniedException;
@@ -14,15 +19,30 @@ import java.util.List;
 public class AdditionsController {
 
     private final AccountingService accountingService;
+    private final UserDataVersionService userDataVersionService;
 
-    public AdditionsController(AccountingService accountingService) {
+    public AdditionsController(AccountingService accountingService, UserDataVersionService userDataVersionService) {
         this.accountingService = accountingService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @GetMapping("/get/yearly")
-    public ResponseEntity<List<UserAdditionsDTO>> getYearlyAdditions(int year) {
+    public ResponseEntity<?> getYearlyAdditions(int year,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                WebRequest request) {
 
-        return ResponseEntity.ok().body(accountingService.getAllYearAdditions(year));
+        boolean columnar = ColumnarContent.isRequested(accept);
+        String etag = userDataVersionService.currentEtag(Integer.toString(year));
+        if (request.checkNotModified(columnar ? ColumnarContent.etag(etag) : etag)) {
+            return null;
+        }
+
+        List<UserAdditionsDTO> additions = accountingService.getAllYearAdditions(year);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (columnar) {
+            return response.contentType(ColumnarContent.MEDIA_TYPE).body(UserAdditionsColumnsDTO.of(additions));
+        }
+        return response.body(additions);
     }
 
     @PostMapping("/add/balance")
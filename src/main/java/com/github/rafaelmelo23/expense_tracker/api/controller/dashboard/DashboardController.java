@@ -0,0 +1,32 @@
+package com.github.rafaelmelo23.expense_tracker.api.controller.dashboard;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DashboardDTO;
+import com.github.rafaelmelo23.expense_tracker.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<DashboardDTO> getDashboard(@RequestParam(required = false) Integer year,
+                                                     @RequestParam(required = false) Integer month) {
+        LocalDate today = LocalDate.now();
+        int dashboardYear = year != null ? year : today.getYear();
+        int dashboardMonth = month != null ? month : today.getMonthValue();
+
+        return ResponseEntity.ok().body(dashboardService.getDashboard(dashboardYear, dashboardMonth));
+    }
+}
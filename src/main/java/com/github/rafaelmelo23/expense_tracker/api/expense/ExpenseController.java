@@ -1,24 +1,60 @@
 package com.github.rafaelmelo23.expense_tracker.api.expense;
 
+import com.github.rafaelmelo23.expense_tracker.api.ColumnarContent;
+import com.github.rafaelmelo23.expense_tracker.api.ContentEncoding;
 import com.github.rafaelmelo23.expense_tracker.dto.auth.FirstRegistryDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseByMonthDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseColumnsDTO;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseImportResultDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpensePageDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseSummaryDTO;
 import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.service.ExpenseExportService;
+import com.github.rafaelmelo23.expense_tracker.service.ExpenseImportService;
+import com.github.rafaelmelo23.expense_tracker.service.ExpenseListingService;
 import com.github.rafaelmelo23.expense_tracker.service.ExpenseService;
+import com.github.rafaelmelo23.expense_tracker.service.UserDataVersionService;
+import com.github.rafaelmelo23.expense_tracker.service.export.ExpenseExportFormat;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/expense")
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseListingService expenseListingService;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseExportService expenseExportService;
+    private final UserDataVersionService userDataVersionService;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService,
+                             ExpenseListingService expenseListingService,
+                             ExpenseImportService expenseImportService,
+                             ExpenseExportService expenseExportService,
+                             UserDataVersionService userDataVersionService) {
         this.expenseService = expenseService;
+        this.expenseListingService = expenseListingService;
+        this.expenseImportService = expenseImportService;
+        this.expenseExportService = expenseExportService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @PostMapping("/first/registry")
@@ -38,14 +74,141 @@ public class ExpenseController {
         return ResponseEntity.ok().body(expenseService.persistExpense(expenseDTO));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ExpenseImportResultDTO> importExpensesCsv(InputStream body) {
+        return ResponseEntity.ok().body(expenseImportService.importExpenses(body, ExpenseImportService.Format.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "application/jsonl"})
+    public ResponseEntity<ExpenseImportResultDTO> importExpensesJsonLines(InputStream body) {
+        return ResponseEntity.ok().body(expenseImportService.importExpenses(body, ExpenseImportService.Format.JSON_LINES));
+    }
+
+    /**
+     * Lists the expenses of a range, as rows or, when the client accepts
+     * {@link ColumnarContent#MEDIA_TYPE_VALUE}, as one array per field.
+     */
     @GetMapping("/get/all")
-    public ResponseEntity<List<ExpenseDTO>> getAllExpenses() {
-        return ResponseEntity.ok().body(expenseService.getAllExpenses());
+    public ResponseEntity<?> getAllExpenses(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+
+        DateRange range = DateRange.resolve(from, to, year, month);
+        boolean columnar = ColumnarContent.isRequested(accept);
+        String etag = userDataVersionService.currentEtag(range.toEtagScope());
+        if (request.checkNotModified(columnar ? ColumnarContent.etag(etag) : etag)) {
+            return null;
+        }
+
+        List<ExpenseDTO> expenses = expenseService.getAllExpenses(range);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (columnar) {
+            return response.contentType(ColumnarContent.MEDIA_TYPE).body(ExpenseColumnsDTO.of(expenses));
+        }
+        return response.body(expenses);
     }
 
     @GetMapping("/get/all/v2")
-    public ResponseEntity<ExpenseByMonthDTO> getAllExpensesByMonth() {
-        return ResponseEntity.ok().body(expenseService.getYearlyExpensesByMonth());
+    public ResponseEntity<ExpenseByMonthDTO> getAllExpensesByMonth(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            WebRequest request) {
+
+        DateRange range = DateRange.resolve(from, to, year, month);
+        if (request.checkNotModified(userDataVersionService.currentEtag(range.toEtagScope()))) {
+            return null;
+        }
+        return ResponseEntity.ok().body(expenseService.getYearlyExpensesByMonth(range));
+    }
+
+    @GetMapping("/get/page")
+    public ResponseEntity<ExpensePageDTO> getExpensePage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        DateRange range = DateRange.resolve(from, to, year, month);
+        return ResponseEntity.ok().body(expenseListingService.getExpensePage(range, cursor, size));
+    }
+
+    @GetMapping("/get/stream")
+    public ResponseEntity<StreamingResponseBody> streamExpenses(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+
+        DateRange range = DateRange.resolve(from, to, year, month);
+        Long userId = expenseListingService.getAuthenticatedUserId();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> expenseListingService.writeExpensesJson(userId, range, out));
+    }
+
+    /**
+     * Downloads the stored expenses as CSV, JSON lines or the columnar format, gzipped when the
+     * client accepts it. Without range parameters the whole history is exported. The export
+     * slot is also released when the async request completes, times out or fails, in case
+     * the body never got to run.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+
+        ExpenseExportFormat exportFormat = ExpenseExportFormat.fromParameter(format);
+        boolean wholeHistory = from == null && to == null && year == null && month == null;
+        DateRange range = wholeHistory ? DateRange.all() : DateRange.resolve(from, to, year, month);
+        boolean gzip = ContentEncoding.acceptsGzip(acceptEncoding);
+        Long userId = expenseListingService.getAuthenticatedUserId();
+        ExpenseExportService.ExportSlot slot = expenseExportService.reserveSlot();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExpenseExportService.ExportSlot.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        slot.close();
+                    }
+                });
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("expenses." + exportFormat.getFileExtension())
+                        .build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> {
+            try (slot) {
+                expenseExportService.export(userId, range, exportFormat, gzip, out);
+            }
+        });
+    }
+
+    @GetMapping("/get/summary")
+    public ResponseEntity<ExpenseSummaryDTO> getExpenseSummary(@RequestParam(required = false) Integer year,
+                                                               WebRequest request) {
+        int summaryYear = year != null ? year : LocalDate.now().getYear();
+        if (request.checkNotModified(userDataVersionService.currentEtag(Integer.toString(summaryYear)))) {
+            return null;
+        }
+        return ResponseEntity.ok().body(expenseService.getYearlyExpenseSummary(summaryYear));
     }
 
 }
@@ -0,0 +1,127 @@
+package com.github.rafaelmelo23.expense_tracker.api.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests executing at once. With virtual threads Tomcat no longer
+ * bounds concurrency through its worker pool, so without this every request would be
+ * admitted and queue inside Hikari for a connection until its connection timeout. Requests
+ * wait a bounded time for a permit and are answered with {@code 503} and
+ * {@code Retry-After} once it elapses.
+ *
+ * <p>A request that goes async keeps its permit until the async processing completes,
+ * since streaming responses hold their connection until then.</p>
+ */
+public class AdmissionLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Semaphore permits;
+    private final long waitMillis;
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public AdmissionLimitFilter(int maxConcurrent, long waitMillis, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitMillis = waitMillis;
+
+        Gauge.builder("http.admission.permits.available", permits, Semaphore::availablePermits)
+                .description("Request admission permits currently free")
+                .register(meterRegistry);
+        Gauge.builder("http.admission.queued", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for an admission permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.admission.rejected")
+                .description("Requests rejected because no admission permit freed up in time")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("http.admission.wait")
+                .description("Time requests spent waiting for an admission permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!acquire()) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is busy, retry shortly");
+            return;
+        }
+
+        Permit permit = new Permit();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private boolean acquire() throws ServletException {
+        long start = System.nanoTime();
+        try {
+            return permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for an admission permit", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Releases one permit exactly once, either when the request returns or when its async
+     * processing ends.
+     */
+    private class Permit implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.github.rafaelmelo23.expense_tracker.api.security;
 
-import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
-import com.github.rafaelmelo23.expense_tracker.model.dao.LocalUserDAO;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.AuthenticatedUser;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.StompUserPrincipal;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.VerifiedToken;
 import com.github.rafaelmelo23.expense_tracker.service.JWTService;
+import com.github.rafaelmelo23.expense_tracker.service.PrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -12,8 +13,14 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -30,7 +37,7 @@ import java.util.Objects;
 public class JWTFilterSecurity extends OncePerRequestFilter implements ChannelInterceptor {
 
     private final JWTService jwtService;
-    private final LocalUserDAO localUserDAO;
+    private final PrincipalCache principalCache;
     @Value("${jwt.prometheus.user.email}")
     private String prometheusEmail;
 
@@ -39,62 +46,102 @@ public class JWTFilterSecurity extends OncePerRequestFilter implements ChannelIn
 
         String jwtToken = extractToken(request);
 
+        UsernamePasswordAuthenticationToken authToken;
         try {
-            UsernamePasswordAuthenticationToken authToken = checkTokenAndAuth(jwtToken);
-
-            if (jwtToken != null) {
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
-
-            filterChain.doFilter(request, response);
-        } catch (JWTDecodeException e) {
+            authToken = checkTokenAndAuth(jwtToken);
+        } catch (JWTVerificationException e) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("Unvalid or expired token");
+            response.getWriter().write("Invalid or expired token");
+            return;
         }
 
+        if (authToken != null) {
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+
+        filterChain.doFilter(request, response);
     }
 
+    /**
+     * @return the authentication for the token, or null when there is no token
+     * @throws JWTVerificationException if the token is malformed, forged or expired, or its user no longer exists
+     */
     private UsernamePasswordAuthenticationToken checkTokenAndAuth(String token) {
 
-        if (token != null) {
-            try {
-                if (jwtService.isTokenExpired(token)) {
-                    throw new JWTVerificationException("Expired JWT token");
-                }
+        if (token == null) {
+            return null;
+        }
 
-                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        VerifiedToken verified = jwtService.verifyToken(token);
 
-                String email = jwtService.getEmailFromToken(token);
-                String role = jwtService.getRoleFromToken(token);
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
 
-                if (!role.startsWith("ROLE_")) {
-                    role = "ROLE_" + role;
-                }
-                authorities.add(new SimpleGrantedAuthority(role));
+        String email = verified.getEmail();
+        String role = verified.getRole();
 
-                Object principal;
+        if (!role.startsWith("ROLE_")) {
+            role = "ROLE_" + role;
+        }
+        authorities.add(new SimpleGrantedAuthority(role));
 
-                if (Objects.equals(email, prometheusEmail)) {
-                    principal = email;
-                } else {
-                    LocalUser user = localUserDAO.findByEmailIgnoreCase(email)
-                            .orElseThrow(() -> new JWTVerificationException("User with email " + email + " not found"));
-                    principal = user;
-                }
+        Object principal;
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        if (Objects.equals(email, prometheusEmail)) {
+            principal = email;
+        } else {
+            principal = principalCache.find(email)
+                    .orElseThrow(() -> new JWTVerificationException("User with email " + email + " not found"));
+        }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
 
-                return authentication;
-            } catch (JWTDecodeException e) {
+    /**
+     * Authenticates STOMP sessions on CONNECT and keeps clients to receiving their own
+     * {@code /user/} destinations: they can neither subscribe elsewhere nor publish.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
 
-                return null;
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticateSession(accessor));
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                if (destination == null || !destination.startsWith("/user/")) {
+                    throw new MessageDeliveryException("Subscriptions are limited to /user/ destinations");
+                }
+            }
+            case SEND -> throw new MessageDeliveryException("Clients cannot publish messages");
+            default -> {
             }
         }
-        return null;
+        return message;
+    }
+
+    private StompUserPrincipal authenticateSession(StompHeaderAccessor accessor) {
+        Object principal = null;
+
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                principal = checkTokenAndAuth(authHeader.substring(7)).getPrincipal();
+            } catch (JWTVerificationException e) {
+                throw new MessageDeliveryException("Invalid or expired token");
+            }
+        } else if (accessor.getUser() instanceof Authentication handshake) {
+            // Authenticated by this filter from the JWT cookie during the handshake
+            principal = handshake.getPrincipal();
+        }
+
+        if (!(principal instanceof AuthenticatedUser user)) {
+            throw new MessageDeliveryException("STOMP session is not authenticated");
+        }
+        return new StompUserPrincipal(user.getId());
     }
 
     private String extractToken(HttpServletRequest request) {
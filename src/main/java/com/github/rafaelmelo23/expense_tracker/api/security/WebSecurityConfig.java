@@ -37,7 +37,7 @@ public class WebSecurityConfig {
                 .hasRole("ADMIN")
 
                 // Authenticated only API mappings
-                .requestMatchers("/api/expense/**", "/api/additions/**")
+                .requestMatchers("/api/expense/**", "/api/additions/**", "/api/dashboard")
                 .authenticated()
 
                 // Authenticated Html/Static mappings
@@ -48,6 +48,10 @@ public class WebSecurityConfig {
                 .requestMatchers("/api/user/**")
                 .permitAll()
 
+                // STOMP handshake, the session itself is authenticated on CONNECT
+                .requestMatchers("/ws/**")
+                .permitAll()
+
                 // Html/Static public mappings
                 .requestMatchers("/js/**", "/css/**", "/login", "/register", "/")
                 .permitAll()
@@ -0,0 +1,43 @@
+package com.github.rafaelmelo23.expense_tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class DashboardConfig {
+
+    /**
+     * Bounded pool that runs the independent queries of a dashboard request side by side.
+     * When it is saturated the request thread runs the query itself, so a busy pool only
+     * makes the dashboard sequential again instead of failing it.
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${dashboard.executor.workers}") int workers,
+                                                    @Value("${dashboard.executor.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Tags the dashboard payload with a hash of its body and answers a matching
+     * {@code If-None-Match} with 304, so an unchanged dashboard is not sent again.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> dashboardEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/dashboard");
+        return registration;
+    }
+}
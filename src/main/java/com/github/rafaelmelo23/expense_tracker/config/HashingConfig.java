@@ -0,0 +1,30 @@
+package com.github.rafaelmelo23.expense_tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class HashingConfig {
+
+    /**
+     * Pool that runs every password hash and check, sized to the CPUs by default. The queue is
+     * bounded and overflow is rejected rather than run on the caller, so a login burst is
+     * shed instead of occupying request threads with CPU-bound work.
+     */
+    @Bean(name = "hashingExecutor")
+    public ThreadPoolTaskExecutor hashingExecutor(
+            @Value("${hashing.executor.workers:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int workers,
+            @Value("${hashing.executor.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.rafaelmelo23.expense_tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class SalaryBatchConfig {
+
+    /**
+     * Bounded worker pool for the salary-day batch. The queue only holds one pending
+     * chunk per worker; once it is full the scheduler thread processes the chunk itself,
+     * which keeps the producer from reading ahead of the workers.
+     */
+    @Bean(name = "salaryBatchExecutor")
+    public ThreadPoolTaskExecutor salaryBatchExecutor(@Value("${salary.batch.workers}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("salary-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.rafaelmelo23.expense_tracker.config;
+
+import com.github.rafaelmelo23.expense_tracker.api.filter.AdmissionLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Companions of the opt-in virtual-thread mode ({@code spring.threads.virtual.enabled=true}),
+ * under which Spring Boot runs Tomcat requests and {@code @Scheduled} tasks on virtual threads.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    /**
+     * Admission limit for {@code /api/*}, sized to the connection pool by default. Registered
+     * ahead of Spring Security so rejected requests don't pay for token verification.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "request.admission.enabled", havingValue = "true")
+    public FilterRegistrationBean<AdmissionLimitFilter> admissionLimitFilter(
+            @Value("${request.admission.max-concurrent}") int maxConcurrent,
+            @Value("${request.admission.wait-millis}") long waitMillis,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionLimitFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionLimitFilter(maxConcurrent, waitMillis, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry,
+                                                   @Value("${virtual-threads.pinning.threshold-millis}") long thresholdMillis) {
+        return new PinnedThreadMonitor(meterRegistry, Duration.ofMillis(thresholdMillis));
+    }
+}
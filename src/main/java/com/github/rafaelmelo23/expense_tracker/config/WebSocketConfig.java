@@ -0,0 +1,132 @@
+package com.github.rafaelmelo23.expense_tracker.config;
+
+import com.github.rafaelmelo23.expense_tracker.api.security.JWTFilterSecurity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * STOMP over WebSocket on {@code /ws}, used only to push per-user events to the browser.
+ *
+ * <p>Sessions are authenticated on CONNECT by {@link JWTFilterSecurity}, either from the
+ * handshake cookie or from a {@code Authorization: Bearer} native header. Clients may only
+ * subscribe to their own {@code /user/queue/*} destinations and never publish.</p>
+ *
+ * <p>Idle sessions cost a heartbeat and a registry entry, and events are routed by user
+ * through the user registry rather than broadcast, so fan-out scales with the users that
+ * have something to receive. Each session buffers at most
+ * {@code realtime.send-buffer-size-bytes} while a send is in progress; a session that stays
+ * slower than {@code realtime.send-time-limit-millis} is closed instead of holding memory,
+ * and the client reconnects and re-fetches.</p>
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final JWTFilterSecurity jwtFilterSecurity;
+    private final long heartbeatMillis;
+    private final int outboundWorkers;
+    private final int brokerWorkers;
+    private final int brokerQueueCapacity;
+    private final int sendBufferSizeBytes;
+    private final int sendTimeLimitMillis;
+    private final int messageSizeLimitBytes;
+
+    private TaskScheduler heartbeatScheduler;
+
+    public WebSocketConfig(JWTFilterSecurity jwtFilterSecurity,
+                           @Value("${realtime.heartbeat-millis}") long heartbeatMillis,
+                           @Value("${realtime.outbound.workers}") int outboundWorkers,
+                           @Value("${realtime.broker.workers}") int brokerWorkers,
+                           @Value("${realtime.broker.queue-capacity}") int brokerQueueCapacity,
+                           @Value("${realtime.send-buffer-size-bytes}") int sendBufferSizeBytes,
+                           @Value("${realtime.send-time-limit-millis}") int sendTimeLimitMillis,
+                           @Value("${realtime.message-size-limit-bytes}") int messageSizeLimitBytes) {
+        this.jwtFilterSecurity = jwtFilterSecurity;
+        this.heartbeatMillis = heartbeatMillis;
+        this.outboundWorkers = outboundWorkers;
+        this.brokerWorkers = brokerWorkers;
+        this.brokerQueueCapacity = brokerQueueCapacity;
+        this.sendBufferSizeBytes = sendBufferSizeBytes;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.messageSizeLimitBytes = messageSizeLimitBytes;
+    }
+
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws");
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/queue")
+                .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+                .setTaskScheduler(heartbeatScheduler);
+        registry.setUserDestinationPrefix("/user");
+        registry.setPreservePublishOrder(true);
+
+        // Publishers hand events over from after-commit callbacks; a full queue rejects the
+        // event rather than stalling the request that committed it
+        registry.configureBrokerChannel().taskExecutor()
+                .corePoolSize(brokerWorkers)
+                .maxPoolSize(brokerWorkers)
+                .queueCapacity(brokerQueueCapacity);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(jwtFilterSecurity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundWorkers)
+                .maxPoolSize(outboundWorkers);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeBytes)
+                .setSendTimeLimit(sendTimeLimitMillis)
+                .setMessageSizeLimit(messageSizeLimitBytes);
+    }
+
+    /**
+     * Scheduler for {@code @Scheduled} jobs. The broker's heartbeat scheduler makes Spring
+     * Boot's auto-configured one back off, which would leave the journal compactor and the
+     * salary batch sharing it, so the Boot default is declared here explicitly.
+     */
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler taskSchedulerVirtualThreads(SimpleAsyncTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
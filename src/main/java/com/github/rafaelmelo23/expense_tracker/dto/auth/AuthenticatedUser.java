@@ -0,0 +1,52 @@
+package com.github.rafaelmelo23.expense_tracker.dto.auth;
+
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import lombok.Value;
+
+import java.security.Principal;
+
+/**
+ * Immutable snapshot of an authenticated {@link LocalUser}, used as the security principal.
+ * It deliberately leaves out the password hash so it can be cached and shared between requests.
+ */
+@Value
+public class AuthenticatedUser implements Principal {
+
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+    Role role;
+    Boolean isFirstLogin;
+
+    public static AuthenticatedUser of(LocalUser user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRole(),
+                user.getIsFirstLogin());
+    }
+
+    /**
+     * Builds a detached {@link LocalUser} carrying the snapshot fields, suitable for
+     * associating new entities with this user.
+     */
+    public LocalUser toLocalUser() {
+        LocalUser user = new LocalUser();
+        user.setId(id);
+        user.setEmail(email);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setRole(role);
+        user.setIsFirstLogin(isFirstLogin);
+        return user;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
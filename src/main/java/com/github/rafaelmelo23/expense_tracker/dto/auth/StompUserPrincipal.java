@@ -0,0 +1,20 @@
+package com.github.rafaelmelo23.expense_tracker.dto.auth;
+
+import lombok.Value;
+
+import java.security.Principal;
+
+/**
+ * Principal of an authenticated STOMP session. Its name is the user id, which is what
+ * {@code /user/...} destinations are resolved against.
+ */
+@Value
+public class StompUserPrincipal implements Principal {
+
+    Long userId;
+
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.rafaelmelo23.expense_tracker.dto.auth;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature, issuer and expiry were already verified.
+ * Instances are immutable so they can be shared by the verified-token cache.
+ */
+@Value
+public class VerifiedToken {
+
+    String email;
+    String role;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
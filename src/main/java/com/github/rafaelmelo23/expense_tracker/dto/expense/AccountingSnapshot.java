@@ -0,0 +1,24 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.AccountingSnapshotInfo;
+import lombok.Value;
+import lombok.With;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable snapshot of a user's accounting figures, as served to the balance and salary
+ * reads. The balance already includes the pending balance journal entries.
+ */
+@Value
+@With
+public class AccountingSnapshot {
+
+    BigDecimal currentBalance;
+    BigDecimal monthlySalary;
+    int salaryDate;
+
+    public static AccountingSnapshot of(AccountingSnapshotInfo info) {
+        return new AccountingSnapshot(info.getCurrentBalance(), info.getMonthlySalary(), info.getSalaryDate());
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance change pushed to the user's {@code /user/queue/balance} subscription. Expenses
+ * and additions carry the signed {@code delta}; the salary credit replaces the balance, so
+ * it carries no delta and clients take {@code balance} as is.
+ */
+@Value
+public class BalanceEvent {
+
+    BalanceEntrySource source;
+    BigDecimal delta;
+    BigDecimal balance;
+
+    public static BalanceEvent change(BalanceEntrySource source, BigDecimal delta, BigDecimal balance) {
+        return new BalanceEvent(source, delta, balance);
+    }
+
+    public static BalanceEvent salaryCredit(BigDecimal balance) {
+        return new BalanceEvent(BalanceEntrySource.SALARY, null, balance);
+    }
+}
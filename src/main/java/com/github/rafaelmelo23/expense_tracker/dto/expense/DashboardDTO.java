@@ -0,0 +1,20 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Everything the calendar page needs on load: the balance figures, the year's additions
+ * and the selected month's expenses.
+ */
+@Value
+public class DashboardDTO {
+
+    BigDecimal balance;
+    BigDecimal monthlySalary;
+    BigDecimal salarySpentPercent;
+    List<UserAdditionsDTO> yearlyAdditions;
+    ExpenseByMonthDTO expenses;
+}
@@ -0,0 +1,92 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Inclusive date-time window used by the expense read APIs. Resolved per request, so the
+ * default window always follows the current year.
+ */
+@Value
+public class DateRange {
+
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59);
+
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public static DateRange ofDays(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ExpenseException.InvalidExpenseDataException("range start " + from + " is after its end " + to);
+        }
+        return new DateRange(from.atStartOfDay(), to.atTime(END_OF_DAY));
+    }
+
+    public static DateRange ofYear(int year) {
+        return ofDays(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    public static DateRange ofMonth(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return ofDays(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    /**
+     * Every date the API accepts, for reads that default to the whole history.
+     */
+    public static DateRange all() {
+        return ofDays(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31));
+    }
+
+    public static DateRange currentYear() {
+        return ofYear(LocalDate.now().getYear());
+    }
+
+    /**
+     * Identifies the range inside an ETag, e.g. {@code 20250101-20251231}.
+     */
+    public String toEtagScope() {
+        return start.format(DateTimeFormatter.BASIC_ISO_DATE) + "-" + end.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    /**
+     * Resolves the optional range parameters of a request:
+     * <ul>
+     *   <li>{@code from} and/or {@code to}: the days between them. A missing bound defaults to
+     *       the start or end of the other bound's year.</li>
+     *   <li>{@code year} and/or {@code month}: that month or year. The year defaults to the
+     *       current one.</li>
+     *   <li>nothing: the current year.</li>
+     * </ul>
+     *
+     * @throws ExpenseException.InvalidExpenseDataException if the parameters are mixed or out of range
+     */
+    public static DateRange resolve(LocalDate from, LocalDate to, Integer year, Integer month) {
+        if (from != null || to != null) {
+            if (year != null || month != null) {
+                throw new ExpenseException.InvalidExpenseDataException("from/to cannot be combined with year/month");
+            }
+            LocalDate start = from != null ? from : to.withDayOfYear(1);
+            LocalDate end = to != null ? to : from.withMonth(12).withDayOfMonth(31);
+            return ofDays(start, end);
+        }
+
+        int resolvedYear = year != null ? year : LocalDate.now().getYear();
+        if (resolvedYear < 1 || resolvedYear > 9999) {
+            throw new ExpenseException.InvalidExpenseDataException("year out of range: " + resolvedYear);
+        }
+        if (month == null) {
+            return ofYear(resolvedYear);
+        }
+        if (month < 1 || month > 12) {
+            throw new ExpenseException.InvalidExpenseDataException("month out of range: " + month);
+        }
+        return ofMonth(resolvedYear, month);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar shape of a list of {@link ExpenseDTO}s: one array per field, all of
+ * {@code size} elements and aligned by index, with nulls kept in place.
+ */
+@Value
+public class ExpenseColumnsDTO {
+
+    int size;
+    List<LocalDateTime> expenseDate;
+    List<Boolean> isRecurrent;
+    List<BigDecimal> expenseAmount;
+    List<String> expenseName;
+    List<ExpenseCategory> expenseCategory;
+    List<String> description;
+    List<RecurrenceFrequency> recurrenceFrequency;
+
+    public static ExpenseColumnsDTO of(List<ExpenseDTO> expenses) {
+        int size = expenses.size();
+        List<LocalDateTime> dates = new ArrayList<>(size);
+        List<Boolean> recurrent = new ArrayList<>(size);
+        List<BigDecimal> amounts = new ArrayList<>(size);
+        List<String> names = new ArrayList<>(size);
+        List<ExpenseCategory> categories = new ArrayList<>(size);
+        List<String> descriptions = new ArrayList<>(size);
+        List<RecurrenceFrequency> frequencies = new ArrayList<>(size);
+
+        for (ExpenseDTO expense : expenses) {
+            dates.add(expense.getExpenseDate());
+            recurrent.add(expense.getIsRecurrent());
+            amounts.add(expense.getExpenseAmount());
+            names.add(expense.getExpenseName());
+            categories.add(expense.getExpenseCategory());
+            descriptions.add(expense.getDescription());
+            frequencies.add(expense.getRecurrenceFrequency());
+        }
+        return new ExpenseColumnsDTO(size, dates, recurrent, amounts, names, categories, descriptions, frequencies);
+    }
+}
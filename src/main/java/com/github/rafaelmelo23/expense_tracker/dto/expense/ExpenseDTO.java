@@ -2,8 +2,10 @@ package com.github.rafaelmelo23.expense_tracker.dto.expense;
 
 import com.github.rafaelmelo23.expense_tracker.model.Expense;
 import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
-import jakarta.validation.constraints.NotBlank;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -14,15 +16,19 @@ import java.time.LocalDateTime;
 @Setter
 public class ExpenseDTO {
 
-    @NotBlank
+    @NotNull
     private LocalDateTime expenseDate;
     @NotNull
     private Boolean isRecurrent;
     @NotNull
+    @Positive
     private BigDecimal expenseAmount;
+    @Size(max = 60)
     private String expenseName;
     private ExpenseCategory expenseCategory;
+    @Size(max = 150)
     private String description;
+    private RecurrenceFrequency recurrenceFrequency;
 
     public static ExpenseDTO toDTO(Expense expense) {
         ExpenseDTO dto = new ExpenseDTO();
@@ -32,7 +38,33 @@ public class ExpenseDTO {
         dto.setExpenseDate(expense.getDate());
         dto.setDescription(expense.getDescription());
         dto.setIsRecurrent(expense.getIsRecurrent());
+        if (Boolean.TRUE.equals(expense.getIsRecurrent())) {
+            dto.setRecurrenceFrequency(RecurrenceFrequency.orDefault(expense.getRecurrenceFrequency()));
+        }
+        return dto;
+
+    }
+
+    public static ExpenseDTO toDTO(ExpenseRow row) {
+        ExpenseDTO dto = new ExpenseDTO();
+        dto.setExpenseName(row.getName());
+        dto.setExpenseCategory(row.getCategory() != null ? row.getCategory() : ExpenseCategory.OTHER);
+        dto.setExpenseAmount(row.getAmount());
+        dto.setExpenseDate(row.getDate());
+        dto.setDescription(row.getDescription());
+        dto.setIsRecurrent(row.getRecurrent());
+        if (Boolean.TRUE.equals(row.getRecurrent())) {
+            dto.setRecurrenceFrequency(RecurrenceFrequency.orDefault(row.getFrequency()));
+        }
         return dto;
+    }
 
+    /**
+     * Maps one occurrence of a recurrent expense, dated at that occurrence.
+     */
+    public static ExpenseDTO occurrenceOf(ExpenseRow row, LocalDateTime occurrenceDate) {
+        ExpenseDTO dto = toDTO(row);
+        dto.setExpenseDate(occurrenceDate);
+        return dto;
     }
 }
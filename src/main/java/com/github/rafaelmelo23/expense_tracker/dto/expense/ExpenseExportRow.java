@@ -0,0 +1,25 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One stored expense as written by the export. Selected with a constructor expression,
+ * so rows are never managed by the persistence context.
+ */
+@Value
+public class ExpenseExportRow {
+
+    Long id;
+    LocalDateTime date;
+    BigDecimal amount;
+    String name;
+    ExpenseCategory category;
+    String description;
+    Boolean recurrent;
+    RecurrenceFrequency frequency;
+}
@@ -0,0 +1,36 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk expense import. Rows that fail validation are skipped and listed in
+ * {@code errors}, up to a configured limit; {@code rejected} counts all of them.
+ */
+@Getter
+@Setter
+public class ExpenseImportResultDTO {
+
+    private long imported;
+    private long rejected;
+    private BigDecimal importedTotal = BigDecimal.ZERO;
+    private BigDecimal newBalance;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class RowError {
+
+        private long line;
+        private String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written streaming serialization of {@link ExpenseDTO} and {@link ExpenseByMonthDTO},
+ * the bulk of every expense read. It writes the same JSON the reflective bean serializer
+ * produced, fields in declaration order, nulls included and dates as JavaTimeModule
+ * timestamp arrays, but with pre-encoded field names and no per-property lookups.
+ *
+ * <p>{@link #writeExpense(JsonGenerator, ExpenseRow)} and
+ * {@link #writeExpense(JsonGenerator, Expense)} write a row or an entity in the shape of its
+ * {@code ExpenseDTO.toDTO} mapping without allocating the DTO, for the paths that stream
+ * straight to the response.</p>
+ */
+public final class ExpenseJsonSerializer {
+
+    private static final SerializableString EXPENSE_DATE = new SerializedString("expenseDate");
+    private static final SerializableString IS_RECURRENT = new SerializedString("isRecurrent");
+    private static final SerializableString EXPENSE_AMOUNT = new SerializedString("expenseAmount");
+    private static final SerializableString EXPENSE_NAME = new SerializedString("expenseName");
+    private static final SerializableString EXPENSE_CATEGORY = new SerializedString("expenseCategory");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString RECURRENCE_FREQUENCY = new SerializedString("recurrenceFrequency");
+    private static final SerializableString MONTHLY_EXPENSES = new SerializedString("monthlyExpenses");
+
+    private ExpenseJsonSerializer() {
+    }
+
+    /**
+     * Module registering the DTO serializers, installed on the application's
+     * {@code ObjectMapper} by {@code JacksonConfig}.
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("ExpenseJson");
+        module.addSerializer(ExpenseDTO.class, new ExpenseDTOSerializer());
+        module.addSerializer(ExpenseByMonthDTO.class, new ExpenseByMonthSerializer());
+        return module;
+    }
+
+    /**
+     * Writes the expense as its {@link ExpenseDTO#toDTO(Expense)} mapping would serialize.
+     */
+    public static void writeExpense(JsonGenerator generator, Expense expense) throws IOException {
+        boolean recurrent = Boolean.TRUE.equals(expense.getIsRecurrent());
+        writeFields(generator,
+                expense.getDate(),
+                expense.getIsRecurrent(),
+                expense.getAmount(),
+                expense.getName(),
+                expense.getCategory() != null ? expense.getCategory() : ExpenseCategory.OTHER,
+                expense.getDescription(),
+                recurrent ? RecurrenceFrequency.orDefault(expense.getRecurrenceFrequency()) : null);
+    }
+
+    /**
+     * Writes the row as its {@link ExpenseDTO#toDTO(ExpenseRow)} mapping would serialize.
+     */
+    public static void writeExpense(JsonGenerator generator, ExpenseRow row) throws IOException {
+        boolean recurrent = Boolean.TRUE.equals(row.getRecurrent());
+        writeFields(generator,
+                row.getDate(),
+                row.getRecurrent(),
+                row.getAmount(),
+                row.getName(),
+                row.getCategory() != null ? row.getCategory() : ExpenseCategory.OTHER,
+                row.getDescription(),
+                recurrent ? RecurrenceFrequency.orDefault(row.getFrequency()) : null);
+    }
+
+    static void writeExpense(JsonGenerator generator, ExpenseDTO expense) throws IOException {
+        writeFields(generator,
+                expense.getExpenseDate(),
+                expense.getIsRecurrent(),
+                expense.getExpenseAmount(),
+                expense.getExpenseName(),
+                expense.getExpenseCategory(),
+                expense.getDescription(),
+                expense.getRecurrenceFrequency());
+    }
+
+    private static void writeFields(JsonGenerator generator, LocalDateTime date, Boolean recurrent,
+                                    BigDecimal amount, String name, ExpenseCategory category,
+                                    String description, RecurrenceFrequency frequency) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeFieldName(EXPENSE_DATE);
+        writeDate(generator, date);
+
+        generator.writeFieldName(IS_RECURRENT);
+        if (recurrent == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(recurrent);
+        }
+
+        generator.writeFieldName(EXPENSE_AMOUNT);
+        generator.writeNumber(amount);
+
+        generator.writeFieldName(EXPENSE_NAME);
+        generator.writeString(name);
+
+        generator.writeFieldName(EXPENSE_CATEGORY);
+        generator.writeString(category != null ? category.name() : null);
+
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(description);
+
+        generator.writeFieldName(RECURRENCE_FREQUENCY);
+        generator.writeString(frequency != null ? frequency.name() : null);
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Same array layout as JavaTimeModule's {@code LocalDateTimeSerializer}: seconds only when
+     * set, nanoseconds only when set.
+     */
+    private static void writeDate(JsonGenerator generator, LocalDateTime date) throws IOException {
+        if (date == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        generator.writeNumber(date.getYear());
+        generator.writeNumber(date.getMonthValue());
+        generator.writeNumber(date.getDayOfMonth());
+        generator.writeNumber(date.getHour());
+        generator.writeNumber(date.getMinute());
+        int seconds = date.getSecond();
+        int nanos = date.getNano();
+        if (seconds > 0 || nanos > 0) {
+            generator.writeNumber(seconds);
+            if (nanos > 0) {
+                generator.writeNumber(nanos);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    static final class ExpenseDTOSerializer extends StdSerializer<ExpenseDTO> {
+
+        ExpenseDTOSerializer() {
+            super(ExpenseDTO.class);
+        }
+
+        @Override
+        public void serialize(ExpenseDTO value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeExpense(generator, value);
+        }
+    }
+
+    static final class ExpenseByMonthSerializer extends StdSerializer<ExpenseByMonthDTO> {
+
+        ExpenseByMonthSerializer() {
+            super(ExpenseByMonthDTO.class);
+        }
+
+        @Override
+        public void serialize(ExpenseByMonthDTO value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(MONTHLY_EXPENSES);
+
+            Map<Month, List<ExpenseDTO>> monthlyExpenses = value.getMonthlyExpenses();
+            if (monthlyExpenses == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartObject();
+                for (Map.Entry<Month, List<ExpenseDTO>> month : monthlyExpenses.entrySet()) {
+                    generator.writeFieldName(month.getKey().name());
+                    List<ExpenseDTO> expenses = month.getValue();
+                    if (expenses == null) {
+                        generator.writeNull();
+                        continue;
+                    }
+                    generator.writeStartArray();
+                    for (ExpenseDTO expense : expenses) {
+                        writeExpense(generator, expense);
+                    }
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of expenses. {@code nextCursor} is passed back to fetch the following page and
+ * is null on the last one.
+ */
+@Getter
+@Setter
+public class ExpensePageDTO {
+
+    private List<ExpenseDTO> expenses;
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a stored expense that the listings map into {@link ExpenseDTO}, plus the
+ * id the keyset pages order by. Selected with a constructor expression, so reading them
+ * neither joins the owning user nor puts entities in the persistence context.
+ */
+@Value
+public class ExpenseRow {
+
+    Long id;
+    LocalDateTime date;
+    BigDecimal amount;
+    String name;
+    ExpenseCategory category;
+    String description;
+    Boolean recurrent;
+    RecurrenceFrequency frequency;
+}
@@ -0,0 +1,29 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Month;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Month by category matrix of expense totals and counts. Months and categories
+ * without expenses are omitted.
+ */
+@Getter
+@Setter
+public class ExpenseSummaryDTO {
+
+    private Map<Month, Map<ExpenseCategory, BigDecimal>> monthlyTotals = new EnumMap<>(Month.class);
+    private Map<Month, Map<ExpenseCategory, Long>> monthlyCounts = new EnumMap<>(Month.class);
+
+    public void add(Month month, ExpenseCategory category, BigDecimal total, long count) {
+        this.monthlyTotals.computeIfAbsent(month, m -> new EnumMap<>(ExpenseCategory.class))
+                .merge(category, total, BigDecimal::add);
+        this.monthlyCounts.computeIfAbsent(month, m -> new EnumMap<>(ExpenseCategory.class))
+                .merge(category, count, Long::sum);
+    }
+}
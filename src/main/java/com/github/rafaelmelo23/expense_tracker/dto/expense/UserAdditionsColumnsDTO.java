@@ -0,0 +1,35 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar shape of a list of {@link UserAdditionsDTO}s, aligned by index like
+ * {@link ExpenseColumnsDTO}.
+ */
+@Value
+public class UserAdditionsColumnsDTO {
+
+    int size;
+    List<BigDecimal> amount;
+    List<String> description;
+    List<LocalDateTime> createdAt;
+
+    public static UserAdditionsColumnsDTO of(List<UserAdditionsDTO> additions) {
+        int size = additions.size();
+        List<BigDecimal> amounts = new ArrayList<>(size);
+        List<String> descriptions = new ArrayList<>(size);
+        List<LocalDateTime> createdAt = new ArrayList<>(size);
+
+        for (UserAdditionsDTO addition : additions) {
+            amounts.add(addition.getAmount());
+            descriptions.add(addition.getDescription());
+            createdAt.add(addition.getCreatedAt());
+        }
+        return new UserAdditionsColumnsDTO(size, amounts, descriptions, createdAt);
+    }
+}
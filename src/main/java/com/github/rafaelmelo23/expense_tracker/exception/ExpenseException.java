@@ -24,6 +24,24 @@ public class ExpenseException extends RuntimeException {
         }
     }
 
+    public static class InvalidCursorException extends ExpenseException {
+        public InvalidCursorException(String cursor) {
+            super("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static class ExportBusyException extends ExpenseException {
+        public ExportBusyException() {
+            super("Too many exports running, retry shortly");
+        }
+    }
+
+    public static class ImportBusyException extends ExpenseException {
+        public ImportBusyException() {
+            super("Too many imports running, retry shortly");
+        }
+    }
+
     public static class PersistenceException extends ExpenseException {
         public PersistenceException(String action, Throwable cause) {
             super("Failed to " + action + ": " + cause.getMessage());
@@ -2,6 +2,7 @@ package com.github.rafaelmelo23.expense_tracker.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,6 +22,9 @@ public class GlobalExceptionHandler {
         } else if (ex instanceof UserException.UserInvalidAuthenticationException) {
             log.error("[403] {} - {}", request.getRequestURI(), ex.getMessage());
             return ResponseEntity.status(403).build();
+        } else if (ex instanceof UserException.AuthenticationBusyException) {
+            log.warn("[503] {} - {}", request.getRequestURI(), ex.getMessage());
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").build();
         }
         log.error("[400] {} - {}", request.getRequestURI(), ex.getMessage());
         return ResponseEntity.badRequest().build();
@@ -37,6 +41,13 @@ public class GlobalExceptionHandler {
         } else if (ex instanceof ExpenseException.InvalidExpenseDataException) {
             log.error("[422] {} - {}", request.getRequestURI(), ex.getMessage());
             return ResponseEntity.unprocessableEntity().build();
+        } else if (ex instanceof ExpenseException.InvalidCursorException) {
+            log.error("[400] {} - {}", request.getRequestURI(), ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } else if (ex instanceof ExpenseException.ExportBusyException
+                || ex instanceof ExpenseException.ImportBusyException) {
+            log.warn("[503] {} - {}", request.getRequestURI(), ex.getMessage());
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "5").build();
         } else if (ex instanceof ExpenseException.PersistenceException) {
             log.error("[500] {} - {}", request.getRequestURI(), ex.getMessage(), ex);
             return ResponseEntity.internalServerError().build();
@@ -23,5 +23,10 @@ public class UserException extends RuntimeException {
             super("Invalid authentication");
         }
     }
-}
 
+    public static class AuthenticationBusyException extends UserException {
+        public AuthenticationBusyException() {
+            super("Too many authentication requests in progress");
+        }
+    }
+}
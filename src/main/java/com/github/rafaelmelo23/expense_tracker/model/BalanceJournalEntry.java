@@ -0,0 +1,51 @@
+package com.github.rafaelmelo23.expense_tracker.model;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pending change to a user's balance. Balance writes append an entry instead of updating
+ * the {@link UserAccounting} row, so concurrent writes for one user never wait on its row
+ * lock. The balance is {@code UserAccounting.currentBalance} plus the user's pending
+ * entries until {@code BalanceJournalCompactor} folds them in and deletes them.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "balance_journal", indexes = {
+        @Index(name = "idx_balance_journal_user", columnList = "user_id")
+})
+public class BalanceJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_journal_seq")
+    @SequenceGenerator(name = "balance_journal_seq", sequenceName = "balance_journal_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 20)
+    private BalanceEntrySource source;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public static BalanceJournalEntry of(Long userId, BigDecimal amount, BalanceEntrySource source) {
+        BalanceJournalEntry entry = new BalanceJournalEntry();
+        entry.setUserId(userId);
+        entry.setAmount(amount);
+        entry.setSource(source);
+        entry.setCreatedAt(LocalDateTime.now());
+        return entry;
+    }
+}
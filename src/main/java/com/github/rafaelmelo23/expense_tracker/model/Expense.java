@@ -1,6 +1,7 @@
 package com.github.rafaelmelo23.expense_tracker.model;
 
 import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,10 +12,13 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "expense")
+@Table(name = "expense", indexes = {
+        @Index(name = "idx_expense_user_recurrent_date", columnList = "user_id, is_recurrent, date")
+})
 public class Expense {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -37,6 +41,10 @@ public class Expense {
     @Column(name = "is_recurrent")
     private Boolean isRecurrent = false;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 20)
+    private RecurrenceFrequency recurrenceFrequency;
+
     @ManyToOne(cascade = CascadeType.REMOVE)
     @JoinColumn(name = "user_id")
     private LocalUser user;
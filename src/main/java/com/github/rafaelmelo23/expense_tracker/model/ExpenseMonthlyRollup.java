@@ -0,0 +1,50 @@
+package com.github.rafaelmelo23.expense_tracker.model;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Materialized total and count of a user's non-recurrent expenses for one month and
+ * category. Kept in step with {@link Expense} writes by {@code ExpenseRollupService}.
+ * Recurrent expenses are summarized from their rules, so {@code is_recurrent} is always
+ * false for rows written now. The column stays because Hibernate's schema update never
+ * drops columns.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "expense_monthly_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_expense_monthly_rollup_key",
+                columnNames = {"user_id", "expense_year", "expense_month", "category", "is_recurrent"}))
+public class ExpenseMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expense_year", nullable = false)
+    private int expenseYear;
+
+    @Column(name = "expense_month", nullable = false)
+    private int expenseMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private ExpenseCategory category;
+
+    @Column(name = "is_recurrent", nullable = false)
+    private boolean recurrent;
+
+    @Column(name = "total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+}
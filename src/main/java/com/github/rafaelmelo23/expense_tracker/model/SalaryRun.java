@@ -0,0 +1,49 @@
+package com.github.rafaelmelo23.expense_tracker.model;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.SalaryRunStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry for one salary-day batch run. {@code cursorUserId} is the highest user id
+ * up to which every chunk has committed, so an interrupted run resumes right after it.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "salary_run")
+public class SalaryRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_date", nullable = false, unique = true)
+    private LocalDate runDate;
+
+    @Column(name = "salary_day", nullable = false)
+    private int salaryDay;
+
+    @Column(name = "cursor_user_id", nullable = false)
+    private Long cursorUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SalaryRunStatus status;
+
+    @Column(name = "users_credited", nullable = false)
+    private long usersCredited;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -4,17 +4,20 @@ import jakarta.persistence.*;
 import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Getter
 @Entity
-@Table(name = "user_accounting")
+@Table(name = "user_accounting", indexes = {
+        @Index(name = "idx_user_accounting_salary_date_user", columnList = "salary_date, local_user_id")
+})
 public class UserAccounting {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @Column(name = "id", nullable = false)
     private Long id;
 
-    @Column(name = "salaryDate", nullable = false)
+    @Column(name = "salary_date", nullable = false)
     private int salaryDate;
 
     @Column(name = "monthly_salary", nullable = false, precision = 19, scale = 2)
@@ -23,6 +26,9 @@ public class UserAccounting {
     @Column(name = "current_balance", nullable = false, precision = 19, scale = 2)
     private BigDecimal currentBalance;
 
+    @Column(name = "last_salary_credit_date")
+    private LocalDate lastSalaryCreditDate;
+
     @OneToOne(orphanRemoval = true)
     @JoinColumn(name = "local_user_id", unique = true)
     private LocalUser user;
@@ -43,6 +49,10 @@ public class UserAccounting {
         this.currentBalance = currentBalance;
     }
 
+    public void setLastSalaryCreditDate(LocalDate lastSalaryCreditDate) {
+        this.lastSalaryCreditDate = lastSalaryCreditDate;
+    }
+
     public void setUser(LocalUser user) {
         this.user = user;
     }
@@ -0,0 +1,34 @@
+package com.github.rafaelmelo23.expense_tracker.model.dao;
+
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BalanceJournalDAO extends ListCrudRepository<BalanceJournalEntry, Long> {
+
+    /**
+     * The oldest pending entries, to be folded by the compactor.
+     */
+    @Query("SELECT j FROM BalanceJournalEntry j ORDER BY j.id")
+    List<BalanceJournalEntry> findOldest(Limit limit);
+
+    /**
+     * Deletes exactly the given entries.
+     *
+     * @return the number of entries deleted, less than requested when some were already gone
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BalanceJournalEntry j WHERE j.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(j) FROM BalanceJournalEntry j WHERE j.userId = :userId")
+    long countByUserId(@Param("userId") Long userId);
+}
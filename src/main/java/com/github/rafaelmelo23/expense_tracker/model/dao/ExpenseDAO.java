@@ -1,15 +1,22 @@
 package com.github.rafaelmelo23.expense_tracker.model.dao;
 
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow;
 import com.github.rafaelmelo23.expense_tracker.model.Expense;
-import jakarta.transaction.Transactional;
-import org.springframework.data.jpa.repository.Modifying;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.RecurrenceRule;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.RecurrentExpenseInfo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ExpenseDAO extends ListCrudRepository<Expense, Long> {
 
@@ -26,27 +33,115 @@ public interface ExpenseDAO extends ListCrudRepository<Expense, Long> {
      * This logic supports dynamic expansion of recurrent expenses (e.g., monthly) in memory
      * after query execution if needed.
      *
-     * This logic could be replaced with two simpler separated methods, but i chose to make it one query
-     * for simpleness and performance.
+     * The two cases are written as a UNION ALL rather than an OR, so each branch is a range scan
+     * on the {@code (user_id, is_recurrent, date)} index instead of a scan of the user's history.
+     * Only the mapped columns are selected, so the owning user is never joined or loaded.
      *
      * @param userId The ID of the user whose expenses are being retrieved.
      * @param start The start of the date range (inclusive).
      * @param end The end of the date range (inclusive).
-     * @return A list of relevant Expense entities.
+     * @return A list of relevant expense rows.
      */
 
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND " +
-            "((e.isRecurrent = false AND e.date BETWEEN :start AND :end) OR " +
-            " (e.isRecurrent = true AND e.date <= :end))")
-    List<Expense> findRelevantExpenses(@Param("userId") Long userId,
+    @Query("SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow(" +
+            "e.id, e.date, e.amount, e.name, e.category, e.description, e.isRecurrent, e.recurrenceFrequency) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = false " +
+            "AND e.date BETWEEN :start AND :end " +
+            "UNION ALL " +
+            "SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow(" +
+            "e.id, e.date, e.amount, e.name, e.category, e.description, e.isRecurrent, e.recurrenceFrequency) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = true AND e.date <= :end")
+    List<ExpenseRow> findRelevantExpenses(@Param("userId") Long userId,
                                           @Param("start") LocalDateTime start,
                                           @Param("end") LocalDateTime end);
 
-    @Query("SELECT ex.amount FROM Expense ex WHERE ex.user.id = :userId AND ex.isRecurrent = true")
-    List<BigDecimal> findRecurrentExpensesByUser(@Param("userId") Long userId);
+    /**
+     * The recurrent branch of {@link #findRelevantExpenses}, in date and id order. The keyset
+     * listings merge these into the non-recurrent rows below; a user has few of them, so they
+     * are read whole rather than paged.
+     */
+    @Query("SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow(" +
+            "e.id, e.date, e.amount, e.name, e.category, e.description, e.isRecurrent, e.recurrenceFrequency) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = true AND e.date <= :end " +
+            "ORDER BY e.date, e.id")
+    List<ExpenseRow> findRecurrentExpenseRows(@Param("userId") Long userId, @Param("end") LocalDateTime end);
+
+    /**
+     * First page of the non-recurrent branch of {@link #findRelevantExpenses}, ordered by date
+     * and id so later pages can continue from the last row with
+     * {@link #findNonRecurrentExpensesPageAfter}.
+     */
+    @Query("SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow(" +
+            "e.id, e.date, e.amount, e.name, e.category, e.description, e.isRecurrent, e.recurrenceFrequency) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = false " +
+            "AND e.date BETWEEN :start AND :end " +
+            "ORDER BY e.date, e.id")
+    List<ExpenseRow> findNonRecurrentExpensesFirstPage(@Param("userId") Long userId,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end,
+                                                       Limit limit);
 
-    @Modifying
-    @Transactional
-    @Query("UPDATE UserAccounting u SET u.currentBalance =:newBalance WHERE u.user.id = :userId")
-    void monthlyBalanceUpdate(@Param("userId") Long userId, @Param("newBalance") BigDecimal newBalance);
+    /**
+     * Keyset page of the non-recurrent branch of {@link #findRelevantExpenses}: the rows that
+     * sort strictly after {@code (afterDate, afterId)}, ordered by date and id. The cursor date
+     * is also a plain lower bound, so the index range starts at the cursor.
+     */
+    @Query("SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow(" +
+            "e.id, e.date, e.amount, e.name, e.category, e.description, e.isRecurrent, e.recurrenceFrequency) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = false " +
+            "AND e.date BETWEEN :start AND :end AND e.date >= :afterDate " +
+            "AND (e.date > :afterDate OR e.id > :afterId) " +
+            "ORDER BY e.date, e.id")
+    List<ExpenseRow> findNonRecurrentExpensesPageAfter(@Param("userId") Long userId,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end,
+                                                       @Param("afterDate") LocalDateTime afterDate,
+                                                       @Param("afterId") Long afterId,
+                                                       Limit limit);
+
+    /**
+     * Streams the non-recurrent branch of {@link #findRelevantExpenses} in date and id order,
+     * fetching the rows from the driver in batches. Must be consumed and closed inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow(" +
+            "e.id, e.date, e.amount, e.name, e.category, e.description, e.isRecurrent, e.recurrenceFrequency) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = false " +
+            "AND e.date BETWEEN :start AND :end " +
+            "ORDER BY e.date, e.id")
+    Stream<ExpenseRow> streamNonRecurrentExpenses(@Param("userId") Long userId,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    /**
+     * Streams a user's stored expenses dated within {@code [start, end]} for export, in date
+     * and id order, as unmanaged rows fetched from the driver in batches. Must be consumed
+     * and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow(" +
+            "e.id, e.date, e.amount, e.name, e.category, e.description, e.isRecurrent, e.recurrenceFrequency) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.date BETWEEN :start AND :end " +
+            "ORDER BY e.date, e.id")
+    Stream<ExpenseExportRow> streamExportRows(@Param("userId") Long userId,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
+
+    /**
+     * Recurrence rules of a user that start on or before {@code end}, without loading the
+     * expense entities.
+     */
+    @Query("SELECT e.date AS anchor, e.amount AS amount, e.category AS category, " +
+            "e.recurrenceFrequency AS frequency " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.isRecurrent = true AND e.date <= :end")
+    List<RecurrenceRule> findRecurrenceRules(@Param("userId") Long userId, @Param("end") LocalDateTime end);
+
+    /**
+     * Sums the recurrent expenses of several users in a single grouped query.
+     * Users without recurrent expenses are absent from the result.
+     */
+    @Query("SELECT ex.user.id AS userId, SUM(ex.amount) AS expense FROM Expense ex " +
+            "WHERE ex.user.id IN :userIds AND ex.isRecurrent = true GROUP BY ex.user.id")
+    List<RecurrentExpenseInfo> sumRecurrentExpensesByUsers(@Param("userIds") Collection<Long> userIds);
 }
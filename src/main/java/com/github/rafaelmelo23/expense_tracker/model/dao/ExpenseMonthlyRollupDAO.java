@@ -0,0 +1,86 @@
+package com.github.rafaelmelo23.expense_tracker.model.dao;
+
+import com.github.rafaelmelo23.expense_tracker.model.ExpenseMonthlyRollup;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.MonthlyCategoryTotal;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ExpenseMonthlyRollupDAO extends ListCrudRepository<ExpenseMonthlyRollup, Long> {
+
+    /**
+     * Adds to an existing rollup row.
+     *
+     * @return the number of rows updated, 0 if the row does not exist yet
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExpenseMonthlyRollup r SET r.total = r.total + :amount, r.expenseCount = r.expenseCount + :count " +
+            "WHERE r.userId = :userId AND r.expenseYear = :year AND r.expenseMonth = :month " +
+            "AND r.category = :category AND r.recurrent = false")
+    int increment(@Param("userId") Long userId,
+                  @Param("year") int year,
+                  @Param("month") int month,
+                  @Param("category") ExpenseCategory category,
+                  @Param("amount") BigDecimal amount,
+                  @Param("count") long count);
+
+    /**
+     * Inserts a zeroed row for the key unless one exists. A row inserted by a concurrent,
+     * uncommitted writer makes this wait for that writer and then do nothing, without
+     * raising an error that would abort the caller's transaction.
+     *
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value =
+            "INSERT INTO expense_monthly_rollup " +
+            "(user_id, expense_year, expense_month, category, is_recurrent, total, expense_count) " +
+            "VALUES (:userId, :year, :month, :category, FALSE, 0, 0) ON CONFLICT DO NOTHING")
+    int insertEmptyRowIfAbsent(@Param("userId") Long userId,
+                               @Param("year") int year,
+                               @Param("month") int month,
+                               @Param("category") String category);
+
+    /**
+     * Non-recurrent expense totals of the given year, per month and category. Recurrent
+     * expenses are expanded from their rules instead, since their occurrences do not fall
+     * in the month they were created. The recurrence filter only matters for rows written
+     * before recurrent expenses were left out, until the next rebuild drops them.
+     */
+    @Query("SELECT r.expenseMonth AS expenseMonth, r.category AS category, " +
+            "SUM(r.total) AS total, SUM(r.expenseCount) AS expenseCount " +
+            "FROM ExpenseMonthlyRollup r WHERE r.userId = :userId AND " +
+            "r.recurrent = false AND r.expenseYear = :year " +
+            "GROUP BY r.expenseMonth, r.category")
+    List<MonthlyCategoryTotal> findYearSummary(@Param("userId") Long userId, @Param("year") int year);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ExpenseMonthlyRollup r")
+    int deleteAllRows();
+
+    /**
+     * Recomputes every rollup row from the non-recurrent expenses in a single statement.
+     * Uncategorized expenses are rolled up as OTHER.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value =
+            "INSERT INTO expense_monthly_rollup " +
+            "(user_id, expense_year, expense_month, category, is_recurrent, total, expense_count) " +
+            "SELECT e.user_id, EXTRACT(YEAR FROM e.date), EXTRACT(MONTH FROM e.date), " +
+            "COALESCE(e.category, 'OTHER'), FALSE, SUM(e.amount), COUNT(*) " +
+            "FROM expense e WHERE e.user_id IS NOT NULL AND e.date IS NOT NULL " +
+            "AND e.is_recurrent IS NOT TRUE " +
+            "GROUP BY e.user_id, EXTRACT(YEAR FROM e.date), EXTRACT(MONTH FROM e.date), " +
+            "COALESCE(e.category, 'OTHER')")
+    int rebuildFromExpenses();
+}
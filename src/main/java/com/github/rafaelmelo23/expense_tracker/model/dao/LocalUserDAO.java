@@ -20,4 +20,15 @@ public interface LocalUserDAO extends ListCrudRepository<LocalUser, Long> {
     @Modifying
     @Query("UPDATE LocalUser u SET u.isFirstLogin = false WHERE u.id = :userId")
     void setUserFirstLoginToFalse(@Param("userId") Long userId);
+
+    /**
+     * Replaces a password hash only if it is still {@code previousHash}, so a re-hash never
+     * overwrites a password changed in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE LocalUser u SET u.password = :newHash WHERE u.id = :userId AND u.password = :previousHash")
+    int replacePasswordHash(@Param("userId") Long userId,
+                            @Param("previousHash") String previousHash,
+                            @Param("newHash") String newHash);
 }
@@ -0,0 +1,34 @@
+package com.github.rafaelmelo23.expense_tracker.model.dao;
+
+import com.github.rafaelmelo23.expense_tracker.model.SalaryRun;
+import com.github.rafaelmelo23.expense_tracker.model.enums.SalaryRunStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SalaryRunDAO extends ListCrudRepository<SalaryRun, Long> {
+
+    Optional<SalaryRun> findByRunDate(LocalDate runDate);
+
+    List<SalaryRun> findByStatusNotOrderByRunDateAsc(SalaryRunStatus status);
+
+    /**
+     * Moves the checkpoint of a run forward. Checkpoints written out of order by
+     * concurrent workers never move the cursor backwards.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SalaryRun sr SET sr.cursorUserId = :cursorUserId, sr.usersCredited = :usersCredited, " +
+            "sr.updatedAt = :updatedAt WHERE sr.id = :runId AND sr.cursorUserId < :cursorUserId")
+    int advanceCursor(@Param("runId") Long runId,
+                      @Param("cursorUserId") Long cursorUserId,
+                      @Param("usersCredited") long usersCredited,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -1,8 +1,10 @@
 package com.github.rafaelmelo23.expense_tracker.model.dao;
 
 import com.github.rafaelmelo23.expense_tracker.model.UserAccounting;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.AccountingSnapshotInfo;
 import com.github.rafaelmelo23.expense_tracker.model.interfaces.UserSalaryInfo;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
@@ -22,6 +24,20 @@ public interface UserAccountingDAO extends ListCrudRepository<UserAccounting, Lo
             "WHERE ua.salaryDate = :salaryDate")
     List<UserSalaryInfo> findUserSalariesByDayOfTheMonth(@Param("salaryDate") int salaryDate);
 
+    /**
+     * Keyset-paginated variant of {@link #findUserSalariesByDayOfTheMonth(int)}: returns at most
+     * {@code limit} salaries for the given day whose user id is greater than {@code afterUserId},
+     * ordered by user id, so the next page starts after the last id of the previous one.
+     */
+    @Query("SELECT ua.user.id AS userId, " +
+            "ua.monthlySalary AS monthlySalary" +
+            " FROM UserAccounting ua " +
+            "WHERE ua.salaryDate = :salaryDate AND ua.user.id > :afterUserId " +
+            "ORDER BY ua.user.id")
+    List<UserSalaryInfo> findUserSalariesChunk(@Param("salaryDate") int salaryDate,
+                                               @Param("afterUserId") Long afterUserId,
+                                               Limit limit);
+
     @Modifying
     @Transactional
     @Query("UPDATE UserAccounting ua SET ua.monthlySalary = :salaryAmount WHERE ua.user.id = :userId")
@@ -32,16 +48,41 @@ public interface UserAccountingDAO extends ListCrudRepository<UserAccounting, Lo
     @Query("UPDATE UserAccounting ua SET ua.salaryDate = :salaryDate WHERE ua.user.id = :userId")
     void updateUserSalaryDate(@Param("salaryDate") BigDecimal salaryDate, @Param("userId") Long userId);
 
+    /**
+     * Adds {@code amount} (negative for a debit) to the stored balance in a single statement.
+     * Balance writes go through the {@code BalanceJournalEntry} journal instead; this is only
+     * used to fold compacted entries in.
+     *
+     * @return the number of updated rows, 0 when the user has no accounting
+     */
     @Modifying
     @Transactional
     @Query("UPDATE UserAccounting ua SET ua.currentBalance = ua.currentBalance + :amount WHERE ua.user.id = :userId")
-    void addToBalance(@Param("amount") BigDecimal amount, @Param("userId") Long userId);
+    int addToBalance(@Param("amount") BigDecimal amount, @Param("userId") Long userId);
 
-    @Query("SELECT ua.currentBalance FROM UserAccounting ua WHERE ua.user.id = :userId")
+    /**
+     * The user's balance: the stored balance plus the journal entries not compacted yet.
+     * Both are read by one statement, so a concurrent compaction is seen either entirely
+     * or not at all.
+     *
+     * @return the balance, or null when the user has no accounting
+     */
+    @Query("SELECT ua.currentBalance + COALESCE((SELECT SUM(j.amount) FROM BalanceJournalEntry j " +
+            "WHERE j.userId = ua.user.id), 0) FROM UserAccounting ua WHERE ua.user.id = :userId")
     BigDecimal findCurrentBalanceByUser_Id(@Param("userId") Long userId);
 
     @Query("SELECT ua.monthlySalary FROM UserAccounting ua WHERE ua.user.id = :userId")
     BigDecimal findSalaryByUser_Id(Long userId);
 
+    /**
+     * Balance, salary and salary date in one statement, with the balance computed as in
+     * {@link #findCurrentBalanceByUser_Id(Long)}.
+     */
+    @Query("SELECT ua.currentBalance + COALESCE((SELECT SUM(j.amount) FROM BalanceJournalEntry j " +
+            "WHERE j.userId = ua.user.id), 0) AS currentBalance, " +
+            "ua.monthlySalary AS monthlySalary, ua.salaryDate AS salaryDate " +
+            "FROM UserAccounting ua WHERE ua.user.id = :userId")
+    Optional<AccountingSnapshotInfo> findSnapshotByUser_Id(@Param("userId") Long userId);
+
 
 }
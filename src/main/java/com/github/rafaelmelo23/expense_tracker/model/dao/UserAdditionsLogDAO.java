@@ -1,5 +1,6 @@
 package com.github.rafaelmelo23.expense_tracker.model.dao;
 
+import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO;
 import com.github.rafaelmelo23.expense_tracker.model.UserAdditionsLog;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
@@ -10,8 +11,14 @@ import java.util.List;
 
 public interface UserAdditionsLogDAO extends ListCrudRepository<UserAdditionsLog, Long> {
 
-    @Query("SELECT ual FROM UserAdditionsLog ual WHERE ual.createdAt BETWEEN :startDate AND :endDate AND ual.user.id = :userId")
-    List<UserAdditionsLog> findByCreatedAtBetweenAndUserId(
+    /**
+     * A user's additions created within {@code [startDate, endDate]}, selected straight into
+     * DTOs so the owning user is never joined or loaded.
+     */
+    @Query("SELECT new com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO(" +
+            "ual.amount, ual.description, ual.createdAt) " +
+            "FROM UserAdditionsLog ual WHERE ual.createdAt BETWEEN :startDate AND :endDate AND ual.user.id = :userId")
+    List<UserAdditionsDTO> findByCreatedAtBetweenAndUserId(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
             @Param("userId") Long userId
@@ -0,0 +1,10 @@
+package com.github.rafaelmelo23.expense_tracker.model.enums;
+
+public enum BalanceEntrySource {
+
+    EXPENSE,
+    ADDITION,
+    IMPORT,
+    // Only reported in balance events, the salary credit sets the balance directly
+    SALARY
+}
@@ -0,0 +1,41 @@
+package com.github.rafaelmelo23.expense_tracker.model.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS),
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the occurrence {@code index} periods after {@code anchor}. Always computed from
+     * the anchor, so a rule anchored on the 31st falls back to shorter months' last day and
+     * returns to the 31st afterwards.
+     */
+    public LocalDateTime occurrence(LocalDateTime anchor, long index) {
+        return anchor.plus(index, unit);
+    }
+
+    /**
+     * Whole periods between {@code anchor} and {@code instant}, used as a starting estimate of an
+     * occurrence index.
+     */
+    public long periodsBetween(LocalDateTime anchor, LocalDateTime instant) {
+        return unit.between(anchor, instant);
+    }
+
+    /**
+     * Recurrent expenses stored before frequencies existed have none and repeat monthly.
+     */
+    public static RecurrenceFrequency orDefault(RecurrenceFrequency frequency) {
+        return frequency != null ? frequency : MONTHLY;
+    }
+}
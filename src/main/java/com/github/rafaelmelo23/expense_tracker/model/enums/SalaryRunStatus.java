@@ -0,0 +1,8 @@
+package com.github.rafaelmelo23.expense_tracker.model.enums;
+
+public enum SalaryRunStatus {
+
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
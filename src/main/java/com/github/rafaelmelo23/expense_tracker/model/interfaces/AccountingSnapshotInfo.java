@@ -0,0 +1,10 @@
+package com.github.rafaelmelo23.expense_tracker.model.interfaces;
+
+import java.math.BigDecimal;
+
+public interface AccountingSnapshotInfo {
+
+    BigDecimal getCurrentBalance();
+    BigDecimal getMonthlySalary();
+    Integer getSalaryDate();
+}
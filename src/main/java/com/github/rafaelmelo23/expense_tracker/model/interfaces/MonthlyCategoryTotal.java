@@ -0,0 +1,13 @@
+package com.github.rafaelmelo23.expense_tracker.model.interfaces;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+
+import java.math.BigDecimal;
+
+public interface MonthlyCategoryTotal {
+
+    Integer getExpenseMonth();
+    ExpenseCategory getCategory();
+    BigDecimal getTotal();
+    Long getExpenseCount();
+}
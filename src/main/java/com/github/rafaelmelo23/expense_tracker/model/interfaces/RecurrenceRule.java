@@ -0,0 +1,15 @@
+package com.github.rafaelmelo23.expense_tracker.model.interfaces;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface RecurrenceRule {
+
+    LocalDateTime getAnchor();
+    BigDecimal getAmount();
+    ExpenseCategory getCategory();
+    RecurrenceFrequency getFrequency();
+}
@@ -1,20 +1,27 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
+import com.github.rafaelmelo23.expense_tracker.dto.expense.AccountingSnapshot;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO;
 import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.UserAdditionsLog;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.UserAdditionsLogDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +31,10 @@ public class AccountingService {
     private final UserService userService;
     private final UserAccountingDAO userAccountingDAO;
     private final UserAdditionsLogDAO userAdditionsLogDAO;
+    private final BalanceJournalDAO balanceJournalDAO;
+    private final AccountingSnapshotCache accountingSnapshotCache;
+    private final UserDataVersionService userDataVersionService;
+    private final RealtimeEventPublisher realtimeEventPublisher;
 
     /**
      * Retrieves all additional balance entries for the authenticated user
@@ -32,34 +43,43 @@ public class AccountingService {
      * @param year: the year to filter additions
      * @return list of {@link UserAdditionsDTO} representing each addition
      */
+    @Transactional(readOnly = true)
     public List<UserAdditionsDTO> getAllYearAdditions(int year) {
+        return getAllYearAdditions(userService.getAuthenticatedUser().getId(), year);
+    }
+
+    /**
+     * Retrieves all additional balance entries of the given user within a specific year.
+     *
+     * @param userId: the user whose additions are returned
+     * @param year: the year to filter additions
+     * @return list of {@link UserAdditionsDTO} representing each addition
+     */
+    @Transactional(readOnly = true)
+    public List<UserAdditionsDTO> getAllYearAdditions(Long userId, int year) {
         LocalDateTime startOfTheYear = LocalDateTime.of(year, 1, 1, 0, 0);
         LocalDateTime endOfTheYear = LocalDateTime.of(year, 12, 31, 23, 59);
 
-        LocalUser user = userService.getAuthenticatedUser();
-
-        List<UserAdditionsLog> additions = userAdditionsLog.findByCreatedAtBetweenAndUserId(startOfTheYear, endOfTheYear, user.getId());
-
-        return additions.stream()
-                .map(UserAdditionsDTO::toDTO)
-                .collect(Collectors.toList());
+        return userAdditionsLog.findByCreatedAtBetweenAndUserId(startOfTheYear, endOfTheYear, userId);
     }
 
     /**
-     * Adds a specified amount to the authenticated user's balance
+     * Adds a specified amount to the authenticated user's balance through the balance journal
      * and logs the addition in the database.
      *
      * @param dto the data transfer object containing amount and description
      * @return the updated balance after the addition
      * @throws AccessDeniedException if no user is authenticated
+     * @throws ExpenseException.UserAccountingNotFoundException if the user has no accounting yet
      */
+    @Transactional(rollbackFor = AccessDeniedException.class)
     public BigDecimal addToBalance(UserAdditionsDTO dto) throws AccessDeniedException {
         LocalUser user = userService.getAuthenticatedUser();
         if (user == null) {
             throw new AccessDeniedException("User not authenticated");
         }
 
-        userAccountingDAO.addToBalance(dto.getAmount(), user.getId());
+        balanceJournalDAO.save(BalanceJournalEntry.of(user.getId(), dto.getAmount(), BalanceEntrySource.ADDITION));
 
         UserAdditionsLog userAdditionsLog = new UserAdditionsLog();
         userAdditionsLog.setCreatedAt(LocalDateTime.now());
@@ -67,8 +87,17 @@ public class AccountingService {
         userAdditionsLog.setAmount(dto.getAmount());
         userAdditionsLog.setDescription(dto.getDescription());
         userAdditionsLogDAO.save(userAdditionsLog);
+        accountingSnapshotCache.evict(user.getId());
+        userDataVersionService.bump(user.getId());
 
-        return userAccountingDAO.findCurrentBalanceByUser_Id(user.getId());
+        BigDecimal newBalance = userAccountingDAO.findCurrentBalanceByUser_Id(user.getId());
+        if (newBalance == null) {
+            throw new ExpenseException.UserAccountingNotFoundException();
+        }
+
+        realtimeEventPublisher.balanceChanged(user.getId(),
+                BalanceEvent.change(BalanceEntrySource.ADDITION, dto.getAmount(), newBalance));
+        return newBalance;
     }
 
     /**
@@ -77,7 +106,7 @@ public class AccountingService {
      * @return current balance as {@link BigDecimal}
      */
     public BigDecimal getBalance() {
-        return userAccountingDAO.findCurrentBalanceByUser_Id(userService.getAuthenticatedUser().getId());
+        return snapshot().map(AccountingSnapshot::getCurrentBalance).orElse(null);
     }
 
     /**
@@ -86,18 +115,28 @@ public class AccountingService {
      * @return salary as {@link BigDecimal}
      */
     public BigDecimal getSalary() {
-        return userAccountingDAO.findSalaryByUser_Id(userService.getAuthenticatedUser().getId());
+        return snapshot().map(AccountingSnapshot::getMonthlySalary).orElse(null);
     }
 
     /**
      * Calculates the percentage of the user's salary that has been spent.
      *
      * @return spent percentage (0 to 1), rounded to two decimal places
+     * @throws ExpenseException.UserAccountingNotFoundException if the user has no accounting yet
      */
     public BigDecimal getMonthlySpentPercent() {
-        LocalUser user = userService.getAuthenticatedUser();
-        BigDecimal salary         = userAccountingDAO.findSalaryByUser_Id(user.getId());
-        BigDecimal currentBalance = userAccountingDAO.findCurrentBalanceByUser_Id(user.getId());
+        return getMonthlySpentPercent(snapshot().orElseThrow(ExpenseException.UserAccountingNotFoundException::new));
+    }
+
+    /**
+     * Calculates the percentage of the salary that has been spent from an accounting snapshot.
+     *
+     * @param snapshot the user's accounting snapshot
+     * @return spent percentage (0 to 1), rounded to two decimal places
+     */
+    public BigDecimal getMonthlySpentPercent(AccountingSnapshot snapshot) {
+        BigDecimal salary         = snapshot.getMonthlySalary();
+        BigDecimal currentBalance = snapshot.getCurrentBalance();
         BigDecimal spentSoFar     = salary.subtract(currentBalance);
 
         if (salary.compareTo(BigDecimal.ZERO) == 0) return BigDecimal.ZERO;
@@ -124,6 +163,8 @@ public class AccountingService {
         }
 
         userAccountingDAO.updateUserSalary(salaryAmount, user.getId());
+        accountingSnapshotCache.updateSalary(user.getId(), salaryAmount);
+        userDataVersionService.bump(user.getId());
     }
 
     /**
@@ -140,5 +181,11 @@ public class AccountingService {
         }
 
         userAccountingDAO.updateUserSalaryDate(salaryDate, user.getId());
+        accountingSnapshotCache.updateSalaryDate(user.getId(), salaryDate.intValue());
+        userDataVersionService.bump(user.getId());
+    }
+
+    private Optional<AccountingSnapshot> snapshot() {
+        return accountingSnapshotCache.find(userService.getAuthenticatedUser().getId());
     }
 }
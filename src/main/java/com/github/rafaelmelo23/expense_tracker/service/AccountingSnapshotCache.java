@@ -0,0 +1,91 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.AccountingSnapshot;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicted cache of {@link AccountingSnapshot}s keyed by user id, so the
+ * balance and salary reads don't query the database on every call.
+ *
+ * <p>Salary and salary date updates are written through to the cached snapshot. Balance
+ * changes evict it instead: concurrent writers each see only their own uncommitted entry,
+ * so none of them knows the balance the others will leave behind. Both are applied once
+ * the current transaction commits, so a rolled back write never reaches the cache.</p>
+ */
+@Service
+public class AccountingSnapshotCache {
+
+    private final UserAccountingDAO userAccountingDAO;
+    private final Cache<Long, AccountingSnapshot> snapshots;
+    private final Timer loadTimer;
+
+    public AccountingSnapshotCache(UserAccountingDAO userAccountingDAO,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${accounting.cache.maximum-size}") long maximumSize,
+                                   @Value("${accounting.cache.expire-after-write-seconds}") long expireAfterWriteSeconds) {
+        this.userAccountingDAO = userAccountingDAO;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "accounting");
+        Gauge.builder("accounting.cache.hit.ratio", snapshots, cache -> cache.stats().hitRate())
+                .description("Share of balance and salary reads answered without a database query")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("accounting.cache.load")
+                .description("Time spent loading an accounting snapshot from the database on a cache miss")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the user's snapshot, loading it from the database on a miss. Users without
+     * accounting are not cached.
+     */
+    public Optional<AccountingSnapshot> find(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshots.get(userId, this::load));
+    }
+
+    public void updateSalary(Long userId, BigDecimal monthlySalary) {
+        AfterCommit.run(() -> snapshots.asMap().computeIfPresent(userId,
+                (id, snapshot) -> snapshot.withMonthlySalary(monthlySalary)));
+    }
+
+    public void updateSalaryDate(Long userId, int salaryDate) {
+        AfterCommit.run(() -> snapshots.asMap().computeIfPresent(userId,
+                (id, snapshot) -> snapshot.withSalaryDate(salaryDate)));
+    }
+
+    public void evict(Long userId) {
+        evictAll(List.of(userId));
+    }
+
+    public void evictAll(Collection<Long> userIds) {
+        AfterCommit.run(() -> snapshots.invalidateAll(userIds));
+    }
+
+    private AccountingSnapshot load(Long userId) {
+        return loadTimer.record(() -> userAccountingDAO.findSnapshotByUser_Id(userId)
+                .map(AccountingSnapshot::of)
+                .orElse(null));
+    }
+}
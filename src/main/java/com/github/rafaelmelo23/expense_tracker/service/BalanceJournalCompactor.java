@@ -0,0 +1,139 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Folds pending {@link BalanceJournalEntry balance journal} entries into
+ * {@code UserAccounting.currentBalance} in the background.
+ *
+ * <p>Each batch deletes exactly the entries it read and adds their per-user sums to the
+ * stored balances, in one transaction, so readers see the entries either pending or folded
+ * but never both. Entries are deleted before the balance row is updated, the same lock
+ * order the salary batch uses when it discards entries; if another writer removed some of
+ * the entries first, the whole batch rolls back and is retried on the next run. A user
+ * whose accounting row is missing fails the batch the same way, rather than dropping the
+ * entries without applying them.</p>
+ */
+@Service
+public class BalanceJournalCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceJournalCompactor.class);
+
+    private final BalanceJournalDAO balanceJournalDAO;
+    private final UserAccountingDAO userAccountingDAO;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter entriesCompacted;
+    private final Counter batchesRetried;
+    private final Timer batchDuration;
+
+    public BalanceJournalCompactor(BalanceJournalDAO balanceJournalDAO,
+                                   UserAccountingDAO userAccountingDAO,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${balance.journal.compaction.batch-size}") int batchSize,
+                                   @Value("${balance.journal.compaction.max-batches-per-run}") int maxBatchesPerRun) {
+        this.balanceJournalDAO = balanceJournalDAO;
+        this.userAccountingDAO = userAccountingDAO;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        this.entriesCompacted = Counter.builder("balance.journal.compacted")
+                .description("Balance journal entries folded into the stored balances")
+                .register(meterRegistry);
+        this.batchesRetried = Counter.builder("balance.journal.compaction.retried")
+                .description("Compaction batches rolled back because their entries changed underneath")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("balance.journal.compaction.duration")
+                .description("Time spent folding one batch of balance journal entries")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${balance.journal.compaction.fixed-delay-millis}",
+            initialDelayString = "${balance.journal.compaction.fixed-delay-millis}")
+    public void scheduledCompaction() {
+        try {
+            compact();
+        } catch (DataAccessException e) {
+            logger.warn("Balance journal compaction failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Folds pending entries, one batch at a time, until the journal is empty or the
+     * per-run batch limit is reached.
+     *
+     * @return the number of entries folded
+     */
+    public long compact() {
+        long compacted = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int folded = batchDuration.record(this::compactBatch);
+            if (folded < 0) {
+                batchesRetried.increment();
+                break;
+            }
+            compacted += folded;
+            if (folded < batchSize) {
+                break;
+            }
+        }
+        entriesCompacted.increment(compacted);
+        return compacted;
+    }
+
+    /**
+     * @return the number of entries folded, or -1 if the batch was rolled back
+     */
+    private int compactBatch() {
+        Integer folded = transactionTemplate.execute(status -> {
+            List<BalanceJournalEntry> entries = balanceJournalDAO.findOldest(Limit.of(batchSize));
+
+            // Sorted by user id so concurrent compactors lock rows in the same order
+            Map<Long, List<BalanceJournalEntry>> byUser = entries.stream()
+                    .collect(Collectors.groupingBy(BalanceJournalEntry::getUserId, TreeMap::new, Collectors.toList()));
+
+            for (Map.Entry<Long, List<BalanceJournalEntry>> user : byUser.entrySet()) {
+                List<Long> ids = user.getValue().stream().map(BalanceJournalEntry::getId).toList();
+                if (balanceJournalDAO.deleteByIds(ids) != ids.size()) {
+                    status.setRollbackOnly();
+                    return -1;
+                }
+                BigDecimal delta = user.getValue().stream()
+                        .map(BalanceJournalEntry::getAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                int updated = userAccountingDAO.addToBalance(delta, user.getKey());
+                if (updated != 1) {
+                    throw new IncorrectUpdateSemanticsDataAccessException("Folding the balance journal of user "
+                            + user.getKey() + " updated " + updated + " accounting rows instead of one");
+                }
+            }
+            return entries.size();
+        });
+        return folded == null ? 0 : folded;
+    }
+}
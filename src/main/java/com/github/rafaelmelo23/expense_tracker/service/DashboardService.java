@@ -0,0 +1,99 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.AccountingSnapshot;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DashboardDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseByMonthDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Assembles the calendar page's data in one request. The user is resolved once on the
+ * request thread; the accounting snapshot, the yearly additions and the month's expenses
+ * are then loaded concurrently on the {@code dashboardExecutor}, by user id, since the
+ * security context does not follow them onto the pool.
+ */
+@Service
+public class DashboardService {
+
+    private final UserService userService;
+    private final AccountingService accountingService;
+    private final AccountingSnapshotCache accountingSnapshotCache;
+    private final ExpenseService expenseService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer assemblyTimer;
+
+    public DashboardService(UserService userService,
+                            AccountingService accountingService,
+                            AccountingSnapshotCache accountingSnapshotCache,
+                            ExpenseService expenseService,
+                            @Qualifier("dashboardExecutor") ThreadPoolTaskExecutor executor,
+                            MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.accountingService = accountingService;
+        this.accountingSnapshotCache = accountingSnapshotCache;
+        this.expenseService = expenseService;
+        this.executor = executor;
+
+        this.assemblyTimer = Timer.builder("dashboard.assembly")
+                .description("Time spent assembling a dashboard payload")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the authenticated user's dashboard for the given month.
+     *
+     * @param year  the selected year, whose additions are included
+     * @param month the selected month, whose expenses are included
+     * @throws UserException.UserNotAuthenticatedException if no user is authenticated
+     * @throws ExpenseException.UserAccountingNotFoundException if the user has no accounting yet
+     * @throws ExpenseException.InvalidExpenseDataException if the month is out of range
+     */
+    public DashboardDTO getDashboard(int year, int month) {
+        LocalUser user = userService.getAuthenticatedUser();
+        if (user == null) {
+            throw new UserException.UserNotAuthenticatedException();
+        }
+        Long userId = user.getId();
+        DateRange range = DateRange.resolve(null, null, year, month);
+
+        return assemblyTimer.record(() -> {
+            CompletableFuture<AccountingSnapshot> snapshot = CompletableFuture.supplyAsync(() ->
+                    accountingSnapshotCache.find(userId)
+                            .orElseThrow(ExpenseException.UserAccountingNotFoundException::new), executor);
+            CompletableFuture<List<UserAdditionsDTO>> additions = CompletableFuture.supplyAsync(() ->
+                    accountingService.getAllYearAdditions(userId, year), executor);
+            CompletableFuture<ExpenseByMonthDTO> expenses = CompletableFuture.supplyAsync(() ->
+                    expenseService.getExpensesByMonth(userId, range), executor);
+
+            try {
+                CompletableFuture.allOf(snapshot, additions, expenses).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+
+            AccountingSnapshot accounting = snapshot.join();
+            return new DashboardDTO(
+                    accounting.getCurrentBalance(),
+                    accounting.getMonthlySalary(),
+                    accountingService.getMonthlySpentPercent(accounting),
+                    additions.join(),
+                    expenses.join());
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseDAO;
+import com.github.rafaelmelo23.expense_tracker.service.export.ExpenseExportFormat;
+import com.github.rafaelmelo23.expense_tracker.service.export.ExpenseExportWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a user's stored expenses as CSV, JSON lines or the columnar binary format. Rows
+ * are read through a forward-only database cursor as unmanaged projections and handed to
+ * the format writer one at a time, so memory use does not depend on the size of the
+ * history. Recurrent expenses are exported as their stored rule, not expanded.
+ *
+ * <p>An export holds a pooled connection until the client has read the last row. The
+ * request admission limit is opt-in and, when enabled, keeps an async export's permit
+ * until the response completes, but it is sized to the whole pool. Exports therefore need
+ * an {@link ExportSlot} from their own, smaller cap, and their transaction is aborted once
+ * {@code expense.export.timeout-seconds} elapses, so slow downloads cannot take over the
+ * pool.</p>
+ */
+@Service
+public class ExpenseExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseExportService.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExpenseDAO expenseDAO;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore exportPermits;
+    private final long timeoutNanos;
+    private final Counter rejectedExports;
+    private final Map<ExpenseExportFormat, Counter> exportedRows = new EnumMap<>(ExpenseExportFormat.class);
+    private final Map<ExpenseExportFormat, Timer> exportTimers = new EnumMap<>(ExpenseExportFormat.class);
+
+    public ExpenseExportService(ExpenseDAO expenseDAO,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${expense.export.max-concurrent}") int maxConcurrent,
+                                @Value("${expense.export.timeout-seconds}") int timeoutSeconds) {
+        this.expenseDAO = expenseDAO;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout(timeoutSeconds);
+        this.exportPermits = new Semaphore(maxConcurrent);
+        this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+
+        Gauge.builder("expense.export.active", exportPermits, permits -> maxConcurrent - permits.availablePermits())
+                .description("Exports currently holding a database connection")
+                .register(meterRegistry);
+        this.rejectedExports = Counter.builder("expense.export.rejected")
+                .description("Exports rejected because the concurrent export cap was reached")
+                .register(meterRegistry);
+
+        for (ExpenseExportFormat format : ExpenseExportFormat.values()) {
+            String tag = format.name().toLowerCase(Locale.ROOT);
+            exportedRows.put(format, Counter.builder("expense.export.rows")
+                    .description("Expense rows written by exports")
+                    .tag("format", tag)
+                    .register(meterRegistry));
+            exportTimers.put(format, Timer.builder("expense.export.duration")
+                    .description("Time spent writing an export, including the client reading it")
+                    .tag("format", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Reserves one of the concurrent export slots. Must be called before the response is
+     * committed and closed once the export has been written.
+     *
+     * @throws ExpenseException.ExportBusyException if every slot is taken
+     */
+    public ExportSlot reserveSlot() {
+        if (!exportPermits.tryAcquire()) {
+            rejectedExports.increment();
+            throw new ExpenseException.ExportBusyException();
+        }
+        return new ExportSlot();
+    }
+
+    /**
+     * Writes the user's expenses dated within the range to {@code out}, in date and id order.
+     * Runs on the thread writing the response, so the user id has to be resolved beforehand.
+     * The caller must hold an {@link ExportSlot}.
+     *
+     * @param userId the user whose expenses are exported
+     * @param range  the dates to export
+     * @param format the output format
+     * @param gzip   whether to gzip the output on the fly
+     * @param out    the response body; not closed
+     * @return the number of rows written
+     * @throws TransactionTimedOutException if the export outlives {@code expense.export.timeout-seconds}
+     */
+    public long export(Long userId, DateRange range, ExpenseExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        Timer.Sample sample = Timer.start();
+        long deadline = System.nanoTime() + timeoutNanos;
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : null;
+        ExpenseExportWriter writer = format.open(compressed != null ? compressed : out, objectMapper.getFactory());
+
+        long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> {
+                long written = 0;
+                try (Stream<ExpenseExportRow> stream = expenseDAO.streamExportRows(userId, range.getStart(), range.getEnd())) {
+                    for (ExpenseExportRow row : (Iterable<ExpenseExportRow>) stream::iterator) {
+                        // Writes block on the client, so the statement timeout alone can't bound them
+                        if (System.nanoTime() - deadline > 0) {
+                            throw new TransactionTimedOutException(
+                                    "Export for user " + userId + " timed out after " + written + " rows");
+                        }
+                        writer.write(row);
+                        written++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return written;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.finish();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+
+        exportedRows.get(format).increment(rows);
+        sample.stop(exportTimers.get(format));
+        logger.debug("Exported {} expenses for user {} as {}", rows, userId, format);
+        return rows;
+    }
+
+    /**
+     * A reserved export slot; closing it more than once releases it only once.
+     */
+    public final class ExportSlot implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ExportSlot() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                exportPermits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,535 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseImportResultDTO;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports expenses in bulk from a CSV or JSON-lines upload. The body is read one record at
+ * a time, so memory stays flat regardless of upload size. Each row is validated against the
+ * {@link ExpenseDTO} constraints; invalid rows are skipped and reported with their line
+ * number, valid ones are persisted in JDBC batches of {@code expense.import.batch-size}.
+ * The balance is adjusted once, by a single journal entry for the total of the imported rows,
+ * and announced to the user's realtime sessions as one event once the import commits.
+ *
+ * <p>The whole import runs in one transaction: row errors never abort it, but a database
+ * failure rolls every row back. Since that transaction holds a pooled connection for as long
+ * as the client takes to upload, at most {@code expense.import.max-concurrent} imports run
+ * at once and each is aborted once {@code expense.import.timeout-seconds} elapses.</p>
+ */
+@Service
+public class ExpenseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    /**
+     * Supported upload formats.
+     */
+    public enum Format {
+        /**
+         * Comma-separated values with a header row naming the columns {@code date} and
+         * {@code amount} (required) and optionally {@code name}, {@code category},
+         * {@code description}, {@code recurrent} and {@code frequency}.
+         */
+        CSV,
+        /**
+         * One {@link ExpenseDTO} JSON object per line. Unknown fields, such as the {@code id}
+         * written by the JSON-lines export, are ignored.
+         */
+        JSON_LINES
+    }
+
+    private final EntityManager entityManager;
+    private final UserService userService;
+    private final UserAccountingDAO userAccountingDAO;
+    private final BalanceJournalDAO balanceJournalDAO;
+    private final AccountingSnapshotCache accountingSnapshotCache;
+    private final UserDataVersionService userDataVersionService;
+    private final ExpenseRollupService expenseRollupService;
+    private final RealtimeEventPublisher realtimeEventPublisher;
+    private final ObjectReader jsonLineReader;
+    private final Validator validator;
+    private final TransactionTemplate importTransaction;
+    private final Semaphore importPermits;
+    private final long timeoutNanos;
+    private final Counter rejectedImports;
+    private final int batchSize;
+    private final long maxRows;
+    private final int maxReportedErrors;
+
+    public ExpenseImportService(EntityManager entityManager,
+                                UserService userService,
+                                UserAccountingDAO userAccountingDAO,
+                                BalanceJournalDAO balanceJournalDAO,
+                                AccountingSnapshotCache accountingSnapshotCache,
+                                UserDataVersionService userDataVersionService,
+                                ExpenseRollupService expenseRollupService,
+                                RealtimeEventPublisher realtimeEventPublisher,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${expense.import.batch-size}") int batchSize,
+                                @Value("${expense.import.max-rows}") long maxRows,
+                                @Value("${expense.import.max-reported-errors}") int maxReportedErrors,
+                                @Value("${expense.import.max-concurrent}") int maxConcurrent,
+                                @Value("${expense.import.timeout-seconds}") int timeoutSeconds) {
+        this.entityManager = entityManager;
+        this.userService = userService;
+        this.userAccountingDAO = userAccountingDAO;
+        this.balanceJournalDAO = balanceJournalDAO;
+        this.accountingSnapshotCache = accountingSnapshotCache;
+        this.userDataVersionService = userDataVersionService;
+        this.expenseRollupService = expenseRollupService;
+        this.realtimeEventPublisher = realtimeEventPublisher;
+        this.jsonLineReader = objectMapper.readerFor(ExpenseDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.validator = validator;
+        this.importTransaction = new TransactionTemplate(transactionManager);
+        this.importTransaction.setTimeout(timeoutSeconds);
+        this.importPermits = new Semaphore(maxConcurrent);
+        this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        this.rejectedImports = Counter.builder("expense.import.rejected")
+                .description("Imports rejected because the concurrent import cap was reached")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports the expenses in {@code body} for the authenticated user.
+     *
+     * @param body   The upload, read as UTF-8.
+     * @param format The upload format.
+     * @return The number of imported and rejected rows, the per-row errors and the new balance.
+     * @throws UserException.UserNotAuthenticatedException      if no user is authenticated.
+     * @throws ExpenseException.UserAccountingNotFoundException if the user has no accounting yet.
+     * @throws ExpenseException.InvalidExpenseDataException     if the CSV header is missing required
+     * columns or the upload exceeds {@code expense.import.max-rows}.
+     * @throws ExpenseException.PersistenceException           if the rows cannot be persisted.
+     * @throws ExpenseException.ImportBusyException             if {@code expense.import.max-concurrent}
+     * imports are already running.
+     * @throws TransactionTimedOutException                     if the import outlives
+     * {@code expense.import.timeout-seconds}.
+     */
+    public ExpenseImportResultDTO importExpenses(InputStream body, Format format) {
+        if (!importPermits.tryAcquire()) {
+            rejectedImports.increment();
+            throw new ExpenseException.ImportBusyException();
+        }
+        try {
+            return importTransaction.execute(status -> importRows(body, format));
+        } finally {
+            importPermits.release();
+        }
+    }
+
+    private ExpenseImportResultDTO importRows(InputStream body, Format format) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        LocalUser user = userService.getAuthenticatedUser();
+        if (user == null) {
+            throw new UserException.UserNotAuthenticatedException();
+        }
+        Long userId = user.getId();
+        if (userAccountingDAO.findCurrentBalanceByUser_Id(userId) == null) {
+            throw new ExpenseException.UserAccountingNotFoundException();
+        }
+
+        ExpenseImportResultDTO result = new ExpenseImportResultDTO();
+        Batch batch = new Batch(userId);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        try {
+            RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new JsonLinesRowReader(reader);
+            Row row;
+            while ((row = rows.next()) != null) {
+                // Reads block on the client, so the statement timeout alone can't bound them
+                if (System.nanoTime() - deadline > 0) {
+                    throw new TransactionTimedOutException("Import for user " + userId + " timed out after "
+                            + (result.getImported() + result.getRejected()) + " rows");
+                }
+                if (result.getImported() + result.getRejected() >= maxRows) {
+                    throw new ExpenseException.InvalidExpenseDataException(
+                            "import exceeds the limit of " + maxRows + " rows");
+                }
+                try {
+                    Expense expense = toExpense(row.parse());
+                    batch.add(expense);
+                    result.setImported(result.getImported() + 1);
+                    result.setImportedTotal(result.getImportedTotal().add(expense.getAmount()));
+                } catch (IllegalArgumentException | DateTimeParseException | JsonProcessingException e) {
+                    reject(result, row.line(), e.getMessage());
+                }
+            }
+            batch.flush();
+
+            if (result.getImported() > 0) {
+                balanceJournalDAO.save(BalanceJournalEntry.of(userId, result.getImportedTotal().negate(),
+                        BalanceEntrySource.IMPORT));
+                accountingSnapshotCache.evict(userId);
+                userDataVersionService.bump(userId);
+            }
+            result.setNewBalance(userAccountingDAO.findCurrentBalanceByUser_Id(userId));
+            if (result.getImported() > 0) {
+                realtimeEventPublisher.balanceChanged(userId, BalanceEvent.change(BalanceEntrySource.IMPORT,
+                        result.getImportedTotal().negate(), result.getNewBalance()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the import body", e);
+        } catch (DataAccessException | jakarta.persistence.PersistenceException e) {
+            throw new ExpenseException.PersistenceException("import expenses", e);
+        }
+
+        logger.info("Imported {} expenses for user {} ({} rows rejected)",
+                result.getImported(), userId, result.getRejected());
+        return result;
+    }
+
+    private Expense toExpense(ExpenseDTO dto) {
+        if (dto.getIsRecurrent() == null) {
+            dto.setIsRecurrent(false);
+        }
+        Set<ConstraintViolation<ExpenseDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        Expense expense = new Expense();
+        expense.setAmount(dto.getExpenseAmount());
+        expense.setDate(dto.getExpenseDate());
+        expense.setIsRecurrent(dto.getIsRecurrent());
+        expense.setRecurrenceFrequency(dto.getRecurrenceFrequency());
+        expense.setCategory(dto.getExpenseCategory() != null ? dto.getExpenseCategory() : ExpenseCategory.OTHER);
+        if (StringUtils.hasText(dto.getExpenseName())) {
+            expense.setName(dto.getExpenseName());
+        }
+        if (StringUtils.hasText(dto.getDescription())) {
+            expense.setDescription(dto.getDescription());
+        }
+        return expense;
+    }
+
+    private void reject(ExpenseImportResultDTO result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ExpenseImportResultDTO.RowError(line, message));
+        }
+    }
+
+    /**
+     * Expenses persisted since the last flush. Flushing writes them as one JDBC batch, adds
+     * them to the monthly rollup and clears the persistence context, so it never holds more
+     * than one batch of entities.
+     */
+    private class Batch {
+
+        private final Long userId;
+        private final List<Expense> expenses = new ArrayList<>(batchSize);
+        private LocalUser userReference;
+
+        Batch(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(Expense expense) {
+            if (userReference == null) {
+                userReference = entityManager.getReference(LocalUser.class, userId);
+            }
+            expense.setUser(userReference);
+            entityManager.persist(expense);
+            expenses.add(expense);
+            if (expenses.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (expenses.isEmpty()) {
+                return;
+            }
+            entityManager.flush();
+            expenseRollupService.record(expenses);
+            entityManager.flush();
+            entityManager.clear();
+            expenses.clear();
+            userReference = null;
+        }
+    }
+
+    /**
+     * A record read from the upload, parsed lazily so parse errors are reported per row.
+     */
+    private static class Row {
+
+        private final long line;
+        private final RowParser parser;
+
+        Row(long line, RowParser parser) {
+            this.line = line;
+            this.parser = parser;
+        }
+
+        long line() {
+            return line;
+        }
+
+        ExpenseDTO parse() throws JsonProcessingException {
+            return parser.parse();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        ExpenseDTO parse() throws JsonProcessingException;
+    }
+
+    private interface RowReader {
+
+        /**
+         * @return the next non-blank record, or null at the end of the upload
+         */
+        Row next() throws IOException;
+    }
+
+    private class JsonLinesRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private long line;
+
+        JsonLinesRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    String json = text;
+                    return new Row(line, () -> parse(json));
+                }
+            }
+            return null;
+        }
+
+        private ExpenseDTO parse(String json) throws JsonProcessingException {
+            ExpenseDTO dto = jsonLineReader.readValue(json);
+            if (dto == null) {
+                throw new IllegalArgumentException("line is not a JSON object");
+            }
+            return dto;
+        }
+    }
+
+    /**
+     * RFC 4180 style CSV: fields may be quoted, quoted fields may contain commas, doubled
+     * quotes and line breaks.
+     */
+    private static class CsvRowReader implements RowReader {
+
+        private static final List<String> REQUIRED_COLUMNS = List.of("date", "amount");
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long line;
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new ExpenseException.InvalidExpenseDataException("CSV upload is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(required)) {
+                    throw new ExpenseException.InvalidExpenseDataException("CSV header is missing column " + required);
+                }
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+
+            List<String> record = fields;
+            return new Row(line, () -> toDTO(record));
+        }
+
+        private ExpenseDTO toDTO(List<String> fields) {
+            ExpenseDTO dto = new ExpenseDTO();
+            dto.setExpenseDate(parseDate(field(fields, "date")));
+            dto.setExpenseAmount(parseAmount(field(fields, "amount")));
+            dto.setExpenseName(field(fields, "name"));
+            dto.setDescription(field(fields, "description"));
+            dto.setIsRecurrent(parseBoolean(field(fields, "recurrent")));
+
+            String category = field(fields, "category");
+            if (category != null) {
+                dto.setExpenseCategory(parseEnum(ExpenseCategory.class, "category", category));
+            }
+            String frequency = field(fields, "frequency");
+            if (frequency != null) {
+                dto.setRecurrenceFrequency(parseEnum(RecurrenceFrequency.class, "frequency", frequency));
+            }
+            return dto;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static LocalDateTime parseDate(String value) {
+            if (value == null) {
+                return null;
+            }
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        }
+
+        private static BigDecimal parseAmount(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("amount is not a number: " + value);
+            }
+        }
+
+        private static Boolean parseBoolean(String value) {
+            if (value == null) {
+                return false;
+            }
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "1" -> true;
+                case "false", "no", "0" -> false;
+                default -> throw new IllegalArgumentException("recurrent is not a boolean: " + value);
+            };
+        }
+
+        private static <E extends Enum<E>> E parseEnum(Class<E> type, String column, String value) {
+            try {
+                return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(column + " is not valid: " + value);
+            }
+        }
+
+        /**
+         * Reads one record, following quoted fields across line breaks.
+         *
+         * @return the record's fields, or null at the end of the upload
+         */
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (quoted) {
+                        if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else if (c == '"') {
+                            quoted = false;
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new ExpenseException.InvalidExpenseDataException("unterminated quoted field at line " + line);
+                }
+                line++;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
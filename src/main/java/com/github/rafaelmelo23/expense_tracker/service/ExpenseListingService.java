@@ -0,0 +1,213 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseJsonSerializer;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpensePageDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseDAO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Lists the authenticated user's expenses without materializing their whole history:
+ * either one keyset page at a time, ordered by date and id, or as a JSON array streamed
+ * row by row from a database cursor.
+ *
+ * <p>Non-recurrent expenses are paged or streamed from the {@code (user_id, is_recurrent, date)}
+ * index; the user's few recurrent expenses are read whole and merged into them in the same
+ * order, so neither query needs an OR across the two kinds.</p>
+ */
+@Service
+public class ExpenseListingService {
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final Comparator<ExpenseRow> LISTING_ORDER =
+            Comparator.comparing(ExpenseRow::getDate).thenComparing(ExpenseRow::getId);
+
+    private final ExpenseDAO expenseDAO;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public ExpenseListingService(ExpenseDAO expenseDAO,
+                                 UserService userService,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${expense.page.default-size}") int defaultPageSize,
+                                 @Value("${expense.page.max-size}") int maxPageSize) {
+        this.expenseDAO = expenseDAO;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Retrieves one page of the authenticated user's expenses within the given range.
+     *
+     * @param range  the date range to list
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param size   the page size; the configured default when null, capped at the configured maximum
+     * @return the page and the cursor of the next one
+     * @throws UserException.UserNotAuthenticatedException if no user is currently authenticated.
+     * @throws ExpenseException.InvalidCursorException     if the cursor cannot be decoded.
+     */
+    public ExpensePageDTO getExpensePage(DateRange range, String cursor, Integer size) {
+        Long userId = getAuthenticatedUserId();
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        LocalDateTime start = range.getStart();
+        LocalDateTime end = range.getEnd();
+
+        List<ExpenseRow> nonRecurrent;
+        Predicate<ExpenseRow> afterCursor;
+        if (cursor == null || cursor.isBlank()) {
+            nonRecurrent = expenseDAO.findNonRecurrentExpensesFirstPage(userId, start, end, Limit.of(pageSize));
+            afterCursor = row -> true;
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            nonRecurrent = expenseDAO.findNonRecurrentExpensesPageAfter(userId, start, end,
+                    after.getDate(), after.getId(), Limit.of(pageSize));
+            afterCursor = after::precedes;
+        }
+        List<ExpenseRow> expenses = Stream.concat(nonRecurrent.stream(),
+                        expenseDAO.findRecurrentExpenseRows(userId, end).stream().filter(afterCursor))
+                .sorted(LISTING_ORDER)
+                .limit(pageSize)
+                .toList();
+
+        ExpensePageDTO page = new ExpensePageDTO();
+        page.setExpenses(expenses.stream().map(ExpenseDTO::toDTO).toList());
+        if (expenses.size() == pageSize) {
+            ExpenseRow last = expenses.get(expenses.size() - 1);
+            page.setNextCursor(new PageCursor(last.getDate(), last.getId()).encode());
+        }
+        return page;
+    }
+
+    /**
+     * Resolves the authenticated user's id. Streaming responses are written on another
+     * thread, so the id has to be captured while still on the request thread.
+     *
+     * @throws UserException.UserNotAuthenticatedException if no user is currently authenticated.
+     */
+    public Long getAuthenticatedUserId() {
+        LocalUser user = userService.getAuthenticatedUser();
+        if (user == null) {
+            throw new UserException.UserNotAuthenticatedException();
+        }
+        return user.getId();
+    }
+
+    /**
+     * Writes the user's expenses within the given range to {@code out} as a JSON array of
+     * {@link ExpenseDTO}, one row at a time. Rows are written straight from the projection,
+     * without a DTO, so memory stays bounded by the driver fetch size and the user's recurrent
+     * expenses rather than the size of the history.
+     *
+     * @param userId the user whose expenses are written
+     * @param range  the date range to write
+     * @param out    the response body
+     */
+    public void writeExpensesJson(Long userId, DateRange range, OutputStream out) throws IOException {
+        LocalDateTime start = range.getStart();
+        LocalDateTime end = range.getEnd();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    writeMerged(generator, userId, start, end);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the streamed non-recurrent rows with the recurrent ones slotted in by
+     * {@link #LISTING_ORDER}. Must run inside a transaction.
+     */
+    private void writeMerged(JsonGenerator generator, Long userId, LocalDateTime start, LocalDateTime end)
+            throws IOException {
+        List<ExpenseRow> recurrent = expenseDAO.findRecurrentExpenseRows(userId, end);
+        int next = 0;
+        try (Stream<ExpenseRow> nonRecurrent = expenseDAO.streamNonRecurrentExpenses(userId, start, end)) {
+            for (ExpenseRow row : (Iterable<ExpenseRow>) nonRecurrent::iterator) {
+                while (next < recurrent.size() && LISTING_ORDER.compare(recurrent.get(next), row) < 0) {
+                    ExpenseJsonSerializer.writeExpense(generator, recurrent.get(next++));
+                }
+                ExpenseJsonSerializer.writeExpense(generator, row);
+            }
+        }
+        while (next < recurrent.size()) {
+            ExpenseJsonSerializer.writeExpense(generator, recurrent.get(next++));
+        }
+    }
+
+    @lombok.Value
+    private static class PageCursor {
+
+        LocalDateTime date;
+        Long id;
+
+        /**
+         * Whether the row sorts strictly after this cursor, by date and then id.
+         */
+        boolean precedes(ExpenseRow row) {
+            int byDate = row.getDate().compareTo(date);
+            return byDate > 0 || (byDate == 0 && row.getId() > id);
+        }
+
+        String encode() {
+            String raw = date + CURSOR_SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+                if (separator < 0) {
+                    throw new ExpenseException.InvalidCursorException(cursor);
+                }
+                return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new ExpenseException.InvalidCursorException(cursor);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.ExpenseMonthlyRollup;
+import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseMonthlyRollupDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.MonthlyCategoryTotal;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the per-user monthly expense rollup and serves summaries from it, so reads
+ * cost O(months x categories) instead of O(expenses).
+ *
+ * <p>Writers call {@link #record(Collection)} in the same transaction that saves the
+ * expenses. {@link #rebuild()} recomputes the whole table from the expense rows; it runs
+ * on startup when the rollup is empty and on the {@code expense.rollup.rebuild-cron}
+ * schedule to repair any drift from writes that bypassed the service.</p>
+ */
+@Service
+public class ExpenseRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseRollupService.class);
+
+    private final ExpenseMonthlyRollupDAO rollupDAO;
+
+    public ExpenseRollupService(ExpenseMonthlyRollupDAO rollupDAO) {
+        this.rollupDAO = rollupDAO;
+    }
+
+    /**
+     * Adds the given expenses to the rollup. Must run inside the transaction that
+     * persists them. Recurrent expenses are skipped: summaries expand them from their
+     * rules, since their occurrences do not fall in the month they were created.
+     *
+     * @param expenses newly persisted expenses
+     */
+    @Transactional
+    public void record(Collection<Expense> expenses) {
+        Map<RollupKey, ExpenseMonthlyRollup> deltas = new LinkedHashMap<>();
+
+        for (Expense expense : expenses) {
+            if (Boolean.TRUE.equals(expense.getIsRecurrent())) {
+                continue;
+            }
+            RollupKey key = RollupKey.of(expense);
+            ExpenseMonthlyRollup delta = deltas.computeIfAbsent(key, RollupKey::newRow);
+            delta.setTotal(delta.getTotal().add(expense.getAmount()));
+            delta.setExpenseCount(delta.getExpenseCount() + 1);
+        }
+
+        for (Map.Entry<RollupKey, ExpenseMonthlyRollup> delta : deltas.entrySet()) {
+            if (increment(delta.getValue()) == 0) {
+                createEmptyRow(delta.getKey());
+                increment(delta.getValue());
+            }
+        }
+    }
+
+    private int increment(ExpenseMonthlyRollup delta) {
+        return rollupDAO.increment(delta.getUserId(), delta.getExpenseYear(), delta.getExpenseMonth(),
+                delta.getCategory(), delta.getTotal(), delta.getExpenseCount());
+    }
+
+    /**
+     * Inserts a zeroed row for the key in the caller's transaction, on the connection it
+     * already holds. Losing the race to a concurrent writer is fine: the insert waits for
+     * the other writer to commit and the caller then increments its row.
+     */
+    private void createEmptyRow(RollupKey key) {
+        if (rollupDAO.insertEmptyRowIfAbsent(key.getUserId(), key.getYear(), key.getMonth(),
+                key.getCategory().name()) == 0) {
+            logger.debug("Rollup row {} was created concurrently", key);
+        }
+    }
+
+    /**
+     * Returns the user's non-recurrent expense totals for a year, per month and category.
+     */
+    public List<MonthlyCategoryTotal> getYearSummary(Long userId, int year) {
+        return rollupDAO.findYearSummary(userId, year);
+    }
+
+    /**
+     * Recomputes the rollup from scratch with one bulk statement. Expenses written while
+     * the rebuild runs may be missed until the next one, so it is scheduled off-peak.
+     *
+     * @return the number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        long startMillis = System.currentTimeMillis();
+
+        rollupDAO.deleteAllRows();
+        int rows = rollupDAO.rebuildFromExpenses();
+
+        logger.info("Rebuilt expense rollup with {} rows in {} ms", rows, System.currentTimeMillis() - startMillis);
+        return rows;
+    }
+
+    @Scheduled(cron = "${expense.rollup.rebuild-cron}", zone = "America/Sao_Paulo")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupDAO.count() == 0) {
+            rebuild();
+        }
+    }
+
+    @Value
+    private static class RollupKey {
+
+        Long userId;
+        int year;
+        int month;
+        ExpenseCategory category;
+
+        static RollupKey of(Expense expense) {
+            // Uncategorized expenses are rolled up as OTHER, as ExpenseDTO reports them
+            ExpenseCategory category = expense.getCategory() != null ? expense.getCategory() : ExpenseCategory.OTHER;
+            return new RollupKey(expense.getUser().getId(),
+                    expense.getDate().getYear(),
+                    expense.getDate().getMonthValue(),
+                    category);
+        }
+
+        ExpenseMonthlyRollup newRow() {
+            ExpenseMonthlyRollup row = new ExpenseMonthlyRollup();
+            row.setUserId(userId);
+            row.setExpenseYear(year);
+            row.setExpenseMonth(month);
+            row.setCategory(category);
+            row.setRecurrent(false);
+            row.setTotal(BigDecimal.ZERO);
+            row.setExpenseCount(0);
+            return row;
+        }
+    }
+}
@@ -1,27 +1,40 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
 import com.github.rafaelmelo23.expense_tracker.dto.auth.FirstRegistryDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseByMonthDTO;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseSummaryDTO;
 import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
 import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
 import com.github.rafaelmelo23.expense_tracker.model.Expense;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.UserAccounting;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.LocalUserDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
-import com.github.rafaelmelo23.expense_tracker.model.interfaces.UserSalaryInfo;
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.MonthlyCategoryTotal;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.RecurrenceRule;
 import org.springframework.dao.DataAccessException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -39,21 +52,13 @@ public class ExpenseService {
     private final UserService userService;
     private final UserAccountingDAO userAccountingDAO;
     private final LocalUserDAO localUserDAO;
-
-    /**
-     * Represents the current year for filtering expenses.
-     */
-    private static final int currentYear = LocalDate.now().getYear();
-
-    /**
-     * Represents the start of the current year (January 1st, 00:00).
-     */
-    private final LocalDateTime startOfTheYear = LocalDateTime.of(currentYear, 1, 1, 0, 0);
-
-    /**
-     * Represents the end of the current year (December 31st, 23:59).
-     */
-    private final LocalDateTime endOfTheYear = LocalDateTime.of(currentYear, 12, 31, 23, 59);
+    private final PrincipalCache principalCache;
+    private final SalaryBatchService salaryBatchService;
+    private final ExpenseRollupService expenseRollupService;
+    private final BalanceJournalDAO balanceJournalDAO;
+    private final AccountingSnapshotCache accountingSnapshotCache;
+    private final UserDataVersionService userDataVersionService;
+    private final RealtimeEventPublisher realtimeEventPublisher;
 
     /**
      * Constructor for the ExpenseService, injecting necessary DAOs and services.
@@ -62,12 +67,31 @@ public class ExpenseService {
      * @param userService       Service for user-related operations.
      * @param userAccountingDAO Data Access Object for UserAccounting entities.
      * @param localUserDAO      Data Access Object for LocalUser entities.
+     * @param principalCache    Cache of authenticated user snapshots.
+     * @param salaryBatchService Batch engine crediting monthly salaries.
+     * @param expenseRollupService Maintains the monthly expense rollup.
+     * @param balanceJournalDAO Data Access Object for pending balance changes.
+     * @param accountingSnapshotCache Cache of per-user accounting snapshots.
+     * @param userDataVersionService Tracks the per-user data versions behind the ETags.
+     * @param realtimeEventPublisher Pushes balance and expense events to the user's sessions.
      */
-    public ExpenseService(ExpenseDAO expenseDAO, UserService userService, UserAccountingDAO userAccountingDAO, LocalUserDAO localUserDAO) {
+    public ExpenseService(ExpenseDAO expenseDAO, UserService userService, UserAccountingDAO userAccountingDAO, LocalUserDAO localUserDAO,
+                          PrincipalCache principalCache, SalaryBatchService salaryBatchService,
+                          ExpenseRollupService expenseRollupService, BalanceJournalDAO balanceJournalDAO,
+                          AccountingSnapshotCache accountingSnapshotCache,
+                          UserDataVersionService userDataVersionService,
+                          RealtimeEventPublisher realtimeEventPublisher) {
         this.expenseDAO = expenseDAO;
         this.userService = userService;
         this.userAccountingDAO = userAccountingDAO;
         this.localUserDAO = localUserDAO;
+        this.principalCache = principalCache;
+        this.salaryBatchService = salaryBatchService;
+        this.expenseRollupService = expenseRollupService;
+        this.balanceJournalDAO = balanceJournalDAO;
+        this.accountingSnapshotCache = accountingSnapshotCache;
+        this.userDataVersionService = userDataVersionService;
+        this.realtimeEventPublisher = realtimeEventPublisher;
     }
 
     /**
@@ -82,6 +106,7 @@ public class ExpenseService {
      * @throws ExpenseException.PersistenceException      if there is an error during the persistence of
      * user accounting or expenses.
      */
+    @Transactional
     public void firstRegistry(FirstRegistryDTO registryDTO) {
         LocalUser user = userService.getAuthenticatedUser();
 
@@ -93,6 +118,7 @@ public class ExpenseService {
         }
 
         localUserDAO.setUserFirstLoginToFalse(user.getId());
+        principalCache.evict(user.getEmail());
 
         UserAccounting accounting = persistUserAccounting(registryDTO, user);
 
@@ -101,6 +127,9 @@ public class ExpenseService {
         try {
             userAccountingDAO.save(accounting);
             expenseDAO.saveAll(expenses);
+            expenseRollupService.record(expenses);
+            accountingSnapshotCache.evict(user.getId());
+            userDataVersionService.bump(user.getId());
         } catch (DataAccessException dae) {
             throw new ExpenseException.PersistenceException("persist initial registry", dae);
         }
@@ -128,6 +157,7 @@ public class ExpenseService {
             exp.setAmount(e.getExpenseAmount());
             exp.setDate(e.getExpenseDate());
             exp.setIsRecurrent(e.getIsRecurrent());
+            exp.setRecurrenceFrequency(e.getRecurrenceFrequency());
             return exp;
         }).toList();
     }
@@ -149,7 +179,9 @@ public class ExpenseService {
     }
 
     /**
-     * Persists a new expense for the currently authenticated user and updates their current balance.
+     * Persists a new expense for the currently authenticated user and debits it from their current balance.
+     * The debit is appended to the balance journal in the same transaction as the insert, so concurrent
+     * posts for the same user neither lose each other's debit nor wait on the accounting row lock.
      *
      * @param expenseDTO Data Transfer Object containing the details of the expense to be persisted.
      * @return The new current balance of the user after the expense is recorded.
@@ -159,6 +191,7 @@ public class ExpenseService {
      * @throws ExpenseException.PersistenceException      if there is an error during the persistence of
      * the expense or the update of the user's balance.
      */
+    @Transactional
     public BigDecimal persistExpense(ExpenseDTO expenseDTO) {
         LocalUser user = userService.getAuthenticatedUser();
 
@@ -166,9 +199,6 @@ public class ExpenseService {
             throw new UserException.UserNotAuthenticatedException();
         }
 
-        UserAccounting userAccounting = userAccountingDAO.findByUser_Id(user.getId())
-                .orElseThrow(ExpenseException.UserAccountingNotFoundException::new);
-
         if (expenseDTO == null || expenseDTO.getExpenseAmount() == null) {
             throw new ExpenseException.InvalidExpenseDataException("expenseDTO or amount is null");
         }
@@ -178,6 +208,7 @@ public class ExpenseService {
         expense.setUser(user);
         expense.setDate(expenseDTO.getExpenseDate());
         expense.setIsRecurrent(expenseDTO.getIsRecurrent());
+        expense.setRecurrenceFrequency(expenseDTO.getRecurrenceFrequency());
         if (StringUtils.hasText(expenseDTO.getDescription())) {
             expense.setDescription(expenseDTO.getDescription());
         }
@@ -188,42 +219,62 @@ public class ExpenseService {
             expense.setName(expenseDTO.getExpenseName());
         }
 
-        BigDecimal newBalance = userAccounting.getCurrentBalance().subtract(expense.getAmount());
-        userAccounting.setCurrentBalance(newBalance);
-
         try {
+            balanceJournalDAO.save(BalanceJournalEntry.of(user.getId(), expense.getAmount().negate(),
+                    BalanceEntrySource.EXPENSE));
             expenseDAO.save(expense);
-            userAccountingDAO.save(userAccounting);
+            expenseRollupService.record(List.of(expense));
+            accountingSnapshotCache.evict(user.getId());
+            userDataVersionService.bump(user.getId());
+
+            BigDecimal newBalance = userAccountingDAO.findCurrentBalanceByUser_Id(user.getId());
+            if (newBalance == null) {
+                throw new ExpenseException.UserAccountingNotFoundException();
+            }
+
+            realtimeEventPublisher.expenseCreated(user.getId(), ExpenseDTO.toDTO(expense));
+            realtimeEventPublisher.balanceChanged(user.getId(),
+                    BalanceEvent.change(BalanceEntrySource.EXPENSE, expense.getAmount().negate(), newBalance));
+            return newBalance;
         } catch (DataAccessException dae) {
             throw new ExpenseException.PersistenceException("persist expense and update balance", dae);
         }
-
-        return newBalance;
     }
 
     /**
      * Retrieves all relevant expenses for the currently authenticated user within the current year.
      *
      * @return A list of ExpenseDTOs representing the user's expenses for the current year.
+     * @see #getAllExpenses(DateRange)
+     */
+    public List<ExpenseDTO> getAllExpenses() {
+        return getAllExpenses(DateRange.currentYear());
+    }
+
+    /**
+     * Retrieves all relevant expenses for the currently authenticated user within the given range.
+     * Recurrent expenses are expanded into one entry per occurrence inside the range.
+     *
+     * @param range The date range to retrieve.
+     * @return A list of ExpenseDTOs representing the user's expenses within the range, ordered by date.
      * @throws UserException.UserNotAuthenticatedException if no user is currently authenticated.
      * @throws ExpenseException.ExpenseNotFoundException    if no expenses are found for the authenticated user
-     * within the current year.
+     * within the range.
      */
-    public List<ExpenseDTO> getAllExpenses() {
+    @Transactional(readOnly = true)
+    public List<ExpenseDTO> getAllExpenses(DateRange range) {
         LocalUser user = userService.getAuthenticatedUser();
         if (user == null) {
             throw new UserException.UserNotAuthenticatedException();
         }
 
-        // Find all expenses for the user within the defined date range for the current year.
-        List<Expense> expensesList = expenseDAO.findRelevantExpenses(user.getId(), startOfTheYear, endOfTheYear);
+        // Find all expenses for the user within the requested date range.
+        List<ExpenseRow> expensesList = expenseDAO.findRelevantExpenses(user.getId(), range.getStart(), range.getEnd());
         if (expensesList == null) {
             throw new ExpenseException.ExpenseNotFoundException(null);
         }
 
-        return expensesList.stream()
-                .map(ExpenseDTO::toDTO)
-                .collect(Collectors.toList());
+        return expandOccurrences(expensesList, range);
     }
 
     /**
@@ -231,69 +282,142 @@ public class ExpenseService {
      *
      * @return An ExpenseByMonthDTO containing a map where each month of the year is a key,
      * and the value is a list of ExpenseDTOs for that month.
-     * @throws UserException.UserNotAuthenticatedException if no user is currently authenticated.
+     * @see #getYearlyExpensesByMonth(DateRange)
      */
     public ExpenseByMonthDTO getYearlyExpensesByMonth() {
+        return getYearlyExpensesByMonth(DateRange.currentYear());
+    }
+
+    /**
+     * Retrieves the expenses of the currently authenticated user within the given range, grouped by month.
+     * Recurrent expenses appear in every month in which they occur.
+     *
+     * @param range The date range to retrieve.
+     * @return An ExpenseByMonthDTO containing a map where each month with expenses is a key,
+     * and the value is a list of ExpenseDTOs for that month.
+     * @throws UserException.UserNotAuthenticatedException if no user is currently authenticated.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseByMonthDTO getYearlyExpensesByMonth(DateRange range) {
         LocalUser user = userService.getAuthenticatedUser();
         if (user == null) {
             throw new UserException.UserNotAuthenticatedException();
         }
 
-        List<Expense> expenses = expenseDAO.findRelevantExpenses(user.getId(), startOfTheYear, endOfTheYear);
+        return getExpensesByMonth(user.getId(), range);
+    }
+
+    /**
+     * Retrieves the expenses of the given user within the given range, grouped by month.
+     * Does not depend on the security context, so it can run off the request thread.
+     *
+     * @param userId The user whose expenses are returned.
+     * @param range  The date range to retrieve.
+     * @return An ExpenseByMonthDTO keyed by each month with expenses.
+     * @see #getYearlyExpensesByMonth(DateRange)
+     */
+    @Transactional(readOnly = true)
+    public ExpenseByMonthDTO getExpensesByMonth(Long userId, DateRange range) {
+        List<ExpenseRow> expenses = expenseDAO.findRelevantExpenses(userId, range.getStart(), range.getEnd());
 
-        Map<Month, List<Expense>> groupedExpenses =
-                expenses.stream()
+        Map<Month, List<ExpenseDTO>> dtoMap =
+                expandOccurrences(expenses, range).stream()
                         .collect(Collectors.groupingBy(
-                                expense -> expense.getDate().getMonth(),
+                                expense -> expense.getExpenseDate().getMonth(),
                                 () -> new EnumMap<>(Month.class),
                                 Collectors.toList()
                         ));
 
-        Map<Month, List<ExpenseDTO>> dtoMap = groupedExpenses.entrySet()
-                .stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        monthListEntry -> monthListEntry.getValue()
-                                .stream()
-                                .map(ExpenseDTO::toDTO)
-                                .collect(Collectors.toList()),
-                        (a, b) -> a,
-                        () -> new EnumMap<>(Month.class)
-                ));
-
         ExpenseByMonthDTO expenseByMonthDTO = new ExpenseByMonthDTO();
         dtoMap.forEach(expenseByMonthDTO::addExpenses);
         return expenseByMonthDTO;
     }
 
     /**
-     * Scheduled task that runs every day at midnight to credit users' monthly salary
-     * and deduct their total recurrent expenses. It identifies users whose salary date
-     * matches the current day of the month.
+     * Retrieves the yearly expense totals of the currently authenticated user as a month by
+     * category matrix. Covers the same expenses as {@link #getYearlyExpensesByMonth()}, but
+     * is served from the monthly rollup maintained by {@link ExpenseRollupService}.
+     *
+     * @return An ExpenseSummaryDTO with the total and count of expenses per month and category.
+     * @see #getYearlyExpenseSummary(int)
      */
-    @Scheduled(cron = "0 0 0 * * *", zone = "America/Sao_Paulo")
-    public void creditMonthlySalaryMinusRecurrentExpenses() {
-        int today = LocalDate.now().getDayOfMonth();
-
-        List<UserSalaryInfo> salaryInfo = userAccountingDAO.findUserSalariesByDayOfTheMonth(today);
-
-        salaryInfo.forEach(info -> calculateMonthlySalaryMinusRecurrentExpenses(info.getUserId(), info.getMonthlySalary()));
+    public ExpenseSummaryDTO getYearlyExpenseSummary() {
+        return getYearlyExpenseSummary(LocalDate.now().getYear());
     }
 
     /**
-     * Calculates the new balance for a user by adding their monthly salary and subtracting
-     * the total of their recurrent expenses. Updates the user's current balance in the database.
+     * Retrieves the expense totals of the currently authenticated user for the given year as a
+     * month by category matrix. Non-recurrent totals come from the rollup; recurrent expenses
+     * are added per month from their rules, counting occurrences without materializing them.
      *
-     * @param userId        The ID of the user whose balance needs to be updated.
-     * @param monthlySalary The monthly salary of the user.
+     * @param year The year to summarize.
+     * @return An ExpenseSummaryDTO with the total and count of expenses per month and category.
+     * @throws UserException.UserNotAuthenticatedException if no user is currently authenticated.
      */
-    public void calculateMonthlySalaryMinusRecurrentExpenses(Long userId, BigDecimal monthlySalary) {
+    public ExpenseSummaryDTO getYearlyExpenseSummary(int year) {
+        LocalUser user = userService.getAuthenticatedUser();
+        if (user == null) {
+            throw new UserException.UserNotAuthenticatedException();
+        }
 
-        List<BigDecimal> expenses = expenseDAO.findRecurrentExpensesByUser(userId);
+        List<MonthlyCategoryTotal> rows = expenseRollupService.getYearSummary(user.getId(), year);
 
-        BigDecimal totalExpenses = expenses.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal newBalance = monthlySalary.subtract(totalExpenses);
+        ExpenseSummaryDTO summary = new ExpenseSummaryDTO();
+        for (MonthlyCategoryTotal row : rows) {
+            summary.add(Month.of(row.getExpenseMonth()), row.getCategory(), row.getTotal(), row.getExpenseCount());
+        }
 
-        expenseDAO.monthlyBalanceUpdate(userId, newBalance);
+        DateRange yearRange = DateRange.ofYear(year);
+        List<RecurrenceRule> rules = expenseDAO.findRecurrenceRules(user.getId(), yearRange.getEnd());
+        for (RecurrenceRule rule : rules) {
+            RecurrenceFrequency frequency = RecurrenceFrequency.orDefault(rule.getFrequency());
+            ExpenseCategory category = rule.getCategory() != null ? rule.getCategory() : ExpenseCategory.OTHER;
+            for (Month month : Month.values()) {
+                DateRange monthRange = DateRange.ofMonth(year, month.getValue());
+                long occurrences = RecurrenceExpander.countOccurrences(
+                        rule.getAnchor(), frequency, monthRange.getStart(), monthRange.getEnd());
+                if (occurrences > 0) {
+                    summary.add(month, category, rule.getAmount().multiply(BigDecimal.valueOf(occurrences)), occurrences);
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Maps the stored expenses of a range to DTOs, replacing each recurrent expense with its
+     * occurrences inside the range, and orders the result by date.
+     *
+     * @param expenses Expenses returned by {@link ExpenseDAO#findRelevantExpenses}.
+     * @param range    The range the occurrences must fall in.
+     * @return The expanded expenses, ordered by date.
+     */
+    private List<ExpenseDTO> expandOccurrences(List<ExpenseRow> expenses, DateRange range) {
+        List<ExpenseDTO> result = new ArrayList<>(expenses.size());
+        for (ExpenseRow expense : expenses) {
+            if (!Boolean.TRUE.equals(expense.getRecurrent()) || expense.getDate() == null) {
+                result.add(ExpenseDTO.toDTO(expense));
+                continue;
+            }
+            RecurrenceExpander.forEachOccurrence(expense.getDate(),
+                    RecurrenceFrequency.orDefault(expense.getFrequency()),
+                    range.getStart(), range.getEnd(),
+                    date -> result.add(ExpenseDTO.occurrenceOf(expense, date)));
+        }
+        result.sort(Comparator.comparing(ExpenseDTO::getExpenseDate,
+                Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder())));
+        return result;
+    }
+
+    /**
+     * Scheduled task that runs every day at midnight to credit users' monthly salary
+     * and deduct their total recurrent expenses. It identifies users whose salary date
+     * matches the current day of the month. The work itself is chunked and parallelized
+     * by {@link SalaryBatchService}, which also finishes any earlier run left incomplete.
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "America/Sao_Paulo")
+    public void creditMonthlySalaryMinusRecurrentExpenses() {
+        salaryBatchService.resumeUnfinishedRuns();
+        salaryBatchService.creditSalaries(LocalDate.now());
     }
 }
\ No newline at end of file
@@ -1,22 +1,144 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
+import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.service.hashing.PasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Password hashing and verification. New hashes use the {@link PasswordHasher} selected by
+ * {@code hashing.algorithm}; existing hashes are checked with whichever hasher recognizes
+ * them, so switching algorithm or cost never locks anyone out, and
+ * {@link #needsRehash(String)} tells callers when a stored hash is due for an upgrade.
+ *
+ * <p>The work runs on the bounded {@code hashingExecutor} rather than on the calling request
+ * thread, so at most one hash per worker burns CPU at a time. When its queue is full the
+ * call fails fast with {@link UserException.AuthenticationBusyException} instead of
+ * waiting.</p>
+ */
 @Service
 public class HashingService {
 
-    @Value("${hashing.salt.rounds}")
-    private int saltRounds;
+    private final List<PasswordHasher> hashers;
+    private final PasswordHasher target;
+    private final ThreadPoolTaskExecutor executor;
 
-    public String hashPassword(String password) {
+    private final Timer hashTimer;
+    private final Timer checkTimer;
+    private final Counter rejected;
+
+    public HashingService(List<PasswordHasher> hashers,
+                          @Value("${hashing.algorithm}") String algorithm,
+                          @Qualifier("hashingExecutor") ThreadPoolTaskExecutor executor,
+                          MeterRegistry meterRegistry) {
+        this.hashers = hashers;
+        this.target = hashers.stream()
+                .filter(hasher -> hasher.getName().equalsIgnoreCase(algorithm))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown hashing.algorithm: " + algorithm));
+        this.executor = executor;
+
+        this.hashTimer = Timer.builder("hashing.duration")
+                .description("CPU time spent on a password hashing operation, excluding queueing")
+                .tag("operation", "hash")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.checkTimer = Timer.builder("hashing.duration")
+                .description("CPU time spent on a password hashing operation, excluding queueing")
+                .tag("operation", "check")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("hashing.rejected")
+                .description("Hashing requests shed because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("hashing.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Hashing requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("hashing.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Hashing workers currently busy")
+                .register(meterRegistry);
+    }
 
-        String salt = BCrypt.gensalt(saltRounds);
-        return BCrypt.hashpw(password, salt);
+    public String hashPassword(String password) {
+        return run(hashTimer, () -> target.hash(password));
     }
 
     public boolean checkPassword(String password, String hashedPassword) {
-        return BCrypt.checkpw(password, hashedPassword);
+        PasswordHasher hasher = hasherFor(hashedPassword);
+        if (hasher == null) {
+            return false;
+        }
+        return run(checkTimer, () -> hasher.matches(password, hashedPassword));
+    }
+
+    /**
+     * Whether a stored hash was produced by another algorithm or with other cost parameters
+     * than the configured ones.
+     */
+    public boolean needsRehash(String hashedPassword) {
+        PasswordHasher hasher = hasherFor(hashedPassword);
+        return hasher != null && (hasher != target || hasher.needsRehash(hashedPassword));
+    }
+
+    /**
+     * Hashes a password without waiting for the result, for upgrades that can be skipped.
+     * Only submitted while the pool has no backlog, so it never takes a queue slot a login
+     * could have used; otherwise the returned future fails with
+     * {@link UserException.AuthenticationBusyException}.
+     */
+    public CompletableFuture<String> hashPasswordInBackground(String password) {
+        if (!executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            return CompletableFuture.failedFuture(new UserException.AuthenticationBusyException());
+        }
+        try {
+            return executor.submitCompletable(() -> hashTimer.recordCallable(() -> target.hash(password)));
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(new UserException.AuthenticationBusyException());
+        }
+    }
+
+    private PasswordHasher hasherFor(String hashedPassword) {
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.recognizes(hashedPassword)) {
+                return hasher;
+            }
+        }
+        return null;
+    }
+
+    private <T> T run(Timer timer, Callable<T> operation) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.recordCallable(operation));
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new UserException.AuthenticationBusyException();
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
     }
 }
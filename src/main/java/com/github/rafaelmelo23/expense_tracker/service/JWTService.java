@@ -1,10 +1,18 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.VerifiedToken;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,17 +22,27 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 
 /**
  * Service responsible for handling JSON Web Token (JWT) operations,
  * such as generation, periodic rotation for Prometheus scraping,
  * verification, and extraction of claims.
+ *
+ * <p>Verified tokens are kept in a bounded cache keyed by the SHA-256 digest of the
+ * raw token, so a cookie that is sent on every request only pays for the HMAC
+ * verification once until it expires.</p>
  */
 @Service
 public class JWTService {
@@ -51,8 +69,22 @@ public class JWTService {
     @Value("${jwt.prometheus.token.filepath}")
     private String prometheusTokenFilePath;
 
+    @Value("${jwt.cache.maximum-size}")
+    private long cacheMaximumSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private JWTVerifier verifier;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    public JWTService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
-     * Initializes the Algorithm object using the provided algorithm key.
+     * Initializes the Algorithm object using the provided algorithm key, the shared
+     * verifier and the verified-token cache.
      */
     @PostConstruct
     public void postConstruct() {
@@ -63,6 +95,17 @@ public class JWTService {
             logger.error("Failed to initialize JWT algorithm", e);
             throw new RuntimeException("Unable to configure JWT algorithm", e);
         }
+
+        verifier = JWT.require(algorithm)
+                .withIssuer(issuer)
+                .build();
+
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry(Duration.ofSeconds(expiryInSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
     }
 
     /**
@@ -81,20 +124,30 @@ public class JWTService {
         return token;
     }
 
+    /**
+     * Verifies the signature, issuer and expiry of the given JWT exactly once and
+     * returns its claims. Repeated calls with the same token are served from the
+     * cache until the token's {@code exp}.
+     *
+     * @throws JWTVerificationException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verifyToken(String token) {
+        VerifiedToken verified = verifiedTokens.get(digest(token), key -> decode(token));
+
+        if (verified.isExpired(Instant.now())) {
+            throw new JWTVerificationException("Expired JWT token");
+        }
+        return verified;
+    }
+
     /**
      * Checks if the provided JWT has expired.
      */
     public boolean isTokenExpired(String token) {
         try {
-            DecodedJWT decodedJWT = JWT.require(algorithm)
-                    .withIssuer(issuer)
-                    .build()
-                    .verify(token);
-
-            Date expiresAt = decodedJWT.getExpiresAt();
-            boolean expired = expiresAt.before(new Date());
-            logger.debug("Token expires at {} - expired={}", expiresAt, expired);
-            return expired;
+            VerifiedToken verified = verifyToken(token);
+            logger.debug("Token expires at {} - expired=false", verified.getExpiresAt());
+            return false;
         } catch (Exception e) {
             logger.warn("Token verification failed or token is invalid/expired", e);
             return true;
@@ -105,22 +158,65 @@ public class JWTService {
      * Extracts the email address from the given JWT.
      */
     public String getEmailFromToken(String token) {
-        DecodedJWT jwt = JWT.require(algorithm)
-                .withIssuer(issuer)
-                .build()
-                .verify(token);
-        return jwt.getClaim(EMAIL_KEY).asString();
+        return verifyToken(token).getEmail();
     }
 
     /**
      * Extracts the user's role from the given JWT.
      */
     public String getRoleFromToken(String token) {
-        DecodedJWT jwt = JWT.require(algorithm)
-                .withIssuer(issuer)
-                .build()
-                .verify(token);
-        return jwt.getClaim(ROLE_KEY).asString();
+        return verifyToken(token).getRole();
+    }
+
+    private VerifiedToken decode(String token) {
+        DecodedJWT jwt = verifier.verify(token);
+        Date expiresAt = jwt.getExpiresAt();
+
+        return new VerifiedToken(
+                jwt.getClaim(EMAIL_KEY).asString(),
+                jwt.getClaim(ROLE_KEY).asString(),
+                expiresAt != null ? expiresAt.toInstant() : null);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Evicts each cached token at its own {@code exp}; tokens without one live for
+     * the configured token lifetime at most.
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final Duration maxLifetime;
+
+        private TokenExpiry(Duration maxLifetime) {
+            this.maxLifetime = maxLifetime;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return maxLifetime.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), value.getExpiresAt());
+            return Math.max(0, Math.min(remaining.toNanos(), maxLifetime.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
     /**
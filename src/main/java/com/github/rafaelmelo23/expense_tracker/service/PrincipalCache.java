@@ -0,0 +1,85 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.AuthenticatedUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.LocalUserDAO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicted cache of {@link AuthenticatedUser} snapshots keyed by email, so
+ * authenticated requests don't have to load the {@code LocalUser} entity on every call.
+ * Entries must be evicted whenever the cached user fields are written. Evictions wait for
+ * the writing transaction to commit, so a concurrent request cannot reload and cache the
+ * row as it was before the write.
+ */
+@Service
+public class PrincipalCache {
+
+    private final LocalUserDAO localUserDAO;
+    private final Cache<String, AuthenticatedUser> principals;
+    private final Timer loadTimer;
+
+    public PrincipalCache(LocalUserDAO localUserDAO,
+                          MeterRegistry meterRegistry,
+                          @Value("${principal.cache.maximum-size}") long maximumSize,
+                          @Value("${principal.cache.expire-after-write-seconds}") long expireAfterWriteSeconds) {
+        this.localUserDAO = localUserDAO;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+        Gauge.builder("principal.cache.hit.ratio", principals, cache -> cache.stats().hitRate())
+                .description("Share of principal lookups answered without a database query")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("principal.cache.load")
+                .description("Time spent loading a principal from the database on a cache miss")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the snapshot for the given email, loading it from the database on a miss.
+     * Unknown emails are not cached.
+     */
+    public Optional<AuthenticatedUser> find(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(principals.get(key(email), this::load));
+    }
+
+    /**
+     * Evicts the email's snapshot after the current transaction commits, or right away
+     * when there is none.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = key(email);
+        AfterCommit.run(() -> principals.invalidate(key));
+    }
+
+    private AuthenticatedUser load(String email) {
+        return loadTimer.record(() -> localUserDAO.findByEmailIgnoreCase(email)
+                .map(AuthenticatedUser::of)
+                .orElse(null));
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pushes balance and expense events to the STOMP sessions of the user they belong to.
+ *
+ * <p>Events are sent once the current transaction commits, so a rolled back write is never
+ * announced. Users without an open session are skipped before the payload is converted,
+ * which keeps the salary batch from paying for the users that aren't watching. Events are
+ * best effort: one rejected by a saturated broker channel is counted and dropped rather
+ * than failing or stalling the write, and clients re-fetch when they reconnect.</p>
+ */
+@Service
+public class RealtimeEventPublisher {
+
+    static final String BALANCE_DESTINATION = "/queue/balance";
+    static final String EXPENSE_DESTINATION = "/queue/expenses";
+
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeEventPublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final Counter sent;
+    private final Counter dropped;
+
+    public RealtimeEventPublisher(SimpMessagingTemplate messagingTemplate,
+                                  SimpUserRegistry userRegistry,
+                                  MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.sent = Counter.builder("realtime.events.sent")
+                .description("Events handed to the broker for a connected user")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("realtime.events.dropped")
+                .description("Events dropped because the broker channel was saturated")
+                .register(meterRegistry);
+    }
+
+    public void balanceChanged(Long userId, BalanceEvent event) {
+        publish(userId, BALANCE_DESTINATION, event);
+    }
+
+    public void expenseCreated(Long userId, ExpenseDTO expense) {
+        publish(userId, EXPENSE_DESTINATION, expense);
+    }
+
+    private void publish(Long userId, String destination, Object payload) {
+        AfterCommit.run(() -> send(String.valueOf(userId), destination, payload));
+    }
+
+    private void send(String user, String destination, Object payload) {
+        if (userRegistry.getUser(user) == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(user, destination, payload);
+            sent.increment();
+        } catch (MessagingException e) {
+            dropped.increment();
+            logger.debug("Dropped {} event for user {}", destination, user, e);
+        }
+    }
+}
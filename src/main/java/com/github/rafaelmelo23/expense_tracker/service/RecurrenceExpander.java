@@ -0,0 +1,69 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Expands recurrence rules (an anchor date and a {@link RecurrenceFrequency}) into their
+ * occurrences within a date range. Occurrence indexes are located arithmetically, so the
+ * cost depends on the number of occurrences inside the range rather than on how far the
+ * range is from the anchor, and counting needs no iteration at all.
+ */
+public final class RecurrenceExpander {
+
+    private RecurrenceExpander() {
+    }
+
+    /**
+     * Counts the occurrences of a rule within {@code [start, end]}.
+     */
+    public static long countOccurrences(LocalDateTime anchor, RecurrenceFrequency frequency,
+                                        LocalDateTime start, LocalDateTime end) {
+        long first = firstIndexAtOrAfter(anchor, frequency, start);
+        long last = lastIndexAtOrBefore(anchor, frequency, end);
+        return Math.max(0, last - first + 1);
+    }
+
+    /**
+     * Passes each occurrence of a rule within {@code [start, end]} to {@code action}, in order.
+     */
+    public static void forEachOccurrence(LocalDateTime anchor, RecurrenceFrequency frequency,
+                                         LocalDateTime start, LocalDateTime end,
+                                         Consumer<LocalDateTime> action) {
+        long first = firstIndexAtOrAfter(anchor, frequency, start);
+        long last = lastIndexAtOrBefore(anchor, frequency, end);
+        for (long index = first; index <= last; index++) {
+            action.accept(frequency.occurrence(anchor, index));
+        }
+    }
+
+    static long firstIndexAtOrAfter(LocalDateTime anchor, RecurrenceFrequency frequency, LocalDateTime start) {
+        if (!start.isAfter(anchor)) {
+            return 0;
+        }
+        long index = frequency.periodsBetween(anchor, start);
+        while (frequency.occurrence(anchor, index).isBefore(start)) {
+            index++;
+        }
+        while (index > 0 && !frequency.occurrence(anchor, index - 1).isBefore(start)) {
+            index--;
+        }
+        return index;
+    }
+
+    static long lastIndexAtOrBefore(LocalDateTime anchor, RecurrenceFrequency frequency, LocalDateTime end) {
+        if (end.isBefore(anchor)) {
+            return -1;
+        }
+        long index = frequency.periodsBetween(anchor, end);
+        while (!frequency.occurrence(anchor, index + 1).isAfter(end)) {
+            index++;
+        }
+        while (index > 0 && frequency.occurrence(anchor, index).isAfter(end)) {
+            index--;
+        }
+        return index;
+    }
+}
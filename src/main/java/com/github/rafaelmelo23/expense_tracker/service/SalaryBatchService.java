@@ -0,0 +1,396 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.model.SalaryRun;
+import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.SalaryRunDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.SalaryRunStatus;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.RecurrentExpenseInfo;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.UserSalaryInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Batch engine that credits the monthly salary minus recurrent expenses of every user
+ * paid on a given day of the month.
+ *
+ * <p>Salary rows are read in keyset-paginated chunks ordered by user id. Each chunk is
+ * handed to a bounded worker pool, which sums the recurrent expenses of the whole chunk
+ * with one grouped query and writes the new balances with a single JDBC batch update,
+ * in its own transaction.</p>
+ *
+ * <p>Every run is recorded in the {@link SalaryRun} ledger, keyed by its run date. As the
+ * contiguous prefix of committed chunks grows, the ledger cursor is advanced past it, so a
+ * run interrupted by a crash or redeploy resumes from the last checkpoint instead of
+ * starting over. The balance update itself is guarded by
+ * {@code user_accounting.last_salary_credit_date}, which makes re-processing a chunk that
+ * committed after the last checkpoint a no-op rather than a double credit.</p>
+ *
+ * <p>The credit sets the balance rather than adding to it, so it also discards the user's
+ * pending balance journal entries under the same guard. They are deleted before the
+ * balance row is updated, the lock order {@link BalanceJournalCompactor} uses as well.</p>
+ *
+ * <p>Runs are serialized with a {@link ReentrantLock} rather than {@code synchronized}: the
+ * lock is held across JDBC calls, and blocking inside a monitor would pin the carrier when
+ * scheduled tasks run on virtual threads.</p>
+ */
+@Service
+public class SalaryBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaryBatchService.class);
+
+    private static final String DISCARD_JOURNAL_SQL =
+            "DELETE FROM balance_journal WHERE user_id = ? AND EXISTS (" +
+                    "SELECT 1 FROM user_accounting WHERE local_user_id = ? " +
+                    "AND (last_salary_credit_date IS NULL OR last_salary_credit_date < ?))";
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE user_accounting SET current_balance = ?, last_salary_credit_date = ? " +
+                    "WHERE local_user_id = ? " +
+                    "AND (last_salary_credit_date IS NULL OR last_salary_credit_date < ?)";
+
+    private final UserAccountingDAO userAccountingDAO;
+    private final ExpenseDAO expenseDAO;
+    private final SalaryRunDAO salaryRunDAO;
+    private final AccountingSnapshotCache accountingSnapshotCache;
+    private final RealtimeEventPublisher realtimeEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int chunkSize;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final Timer runDuration;
+    private final Counter usersCredited;
+    private final Counter chunksProcessed;
+    private final DistributionSummary runThroughput;
+
+    public SalaryBatchService(UserAccountingDAO userAccountingDAO,
+                              ExpenseDAO expenseDAO,
+                              SalaryRunDAO salaryRunDAO,
+                              AccountingSnapshotCache accountingSnapshotCache,
+                              RealtimeEventPublisher realtimeEventPublisher,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("salaryBatchExecutor") ThreadPoolTaskExecutor executor,
+                              MeterRegistry meterRegistry,
+                              @Value("${salary.batch.chunk-size}") int chunkSize) {
+        this.userAccountingDAO = userAccountingDAO;
+        this.expenseDAO = expenseDAO;
+        this.salaryRunDAO = salaryRunDAO;
+        this.accountingSnapshotCache = accountingSnapshotCache;
+        this.realtimeEventPublisher = realtimeEventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+
+        this.runDuration = Timer.builder("salary.run.duration")
+                .description("Wall-clock duration of a salary-day batch run")
+                .register(meterRegistry);
+        this.usersCredited = Counter.builder("salary.run.users.credited")
+                .description("Users whose salary was credited by the batch")
+                .register(meterRegistry);
+        this.chunksProcessed = Counter.builder("salary.run.chunks")
+                .description("Chunks committed by the salary batch")
+                .register(meterRegistry);
+        this.runThroughput = DistributionSummary.builder("salary.run.throughput")
+                .description("Users credited per second in a salary-day batch run")
+                .baseUnit("users/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Credits every user whose salary date matches the day of {@code runDate}. A run that
+     * already completed for that date is not repeated, and an unfinished one is resumed
+     * from its last checkpoint.
+     *
+     * @param runDate the date being paid
+     * @return the number of users credited by this call
+     * @throws ExpenseException.PersistenceException if any chunk fails
+     */
+    public long creditSalaries(LocalDate runDate) {
+        runLock.lock();
+        try {
+            SalaryRun run = salaryRunDAO.findByRunDate(runDate).orElseGet(() -> newRun(runDate));
+
+            if (run.getStatus() == SalaryRunStatus.COMPLETED) {
+                logger.info("Salary batch for {} already completed, skipping", runDate);
+                return 0;
+            }
+            return execute(run);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Resumes every run left unfinished by a crash, a redeploy or a failed chunk. Called
+     * once the application is ready, and again before each scheduled run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRuns() {
+        runLock.lock();
+        try {
+            for (SalaryRun run : salaryRunDAO.findByStatusNotOrderByRunDateAsc(SalaryRunStatus.COMPLETED)) {
+                logger.info("Resuming salary batch for {} after user {}", run.getRunDate(), run.getCursorUserId());
+                try {
+                    execute(run);
+                } catch (RuntimeException e) {
+                    logger.error("Resumed salary batch for {} failed", run.getRunDate(), e);
+                }
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private long execute(SalaryRun run) {
+        long startNanos = System.nanoTime();
+        long creditedBefore = run.getUsersCredited();
+
+        run.setStatus(SalaryRunStatus.RUNNING);
+        run.setUpdatedAt(LocalDateTime.now());
+        run = salaryRunDAO.save(run);
+
+        Long runId = run.getId();
+        LocalDate runDate = run.getRunDate();
+        ChunkWatermark watermark = new ChunkWatermark(run.getCursorUserId(), creditedBefore);
+        List<Future<Integer>> pending = new ArrayList<>();
+
+        long credited;
+        try {
+            Long cursor = run.getCursorUserId();
+            List<UserSalaryInfo> chunk;
+            do {
+                chunk = userAccountingDAO.findUserSalariesChunk(run.getSalaryDay(), cursor, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                cursor = chunk.get(chunk.size() - 1).getUserId();
+
+                List<UserSalaryInfo> current = chunk;
+                long sequence = watermark.register(cursor);
+                pending.add(executor.submit(() -> {
+                    int updated = creditChunk(runDate, current);
+                    if (watermark.complete(sequence, updated)) {
+                        salaryRunDAO.advanceCursor(runId, watermark.getCursorUserId(),
+                                watermark.getUsersCredited(), LocalDateTime.now());
+                    }
+                    return updated;
+                }));
+            } while (chunk.size() == chunkSize);
+
+            credited = awaitAll(pending);
+        } catch (RuntimeException e) {
+            finish(run, watermark, SalaryRunStatus.FAILED);
+            throw e;
+        }
+        finish(run, watermark, SalaryRunStatus.COMPLETED);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        runDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        double seconds = elapsedNanos / 1_000_000_000d;
+        if (seconds > 0) {
+            runThroughput.record(credited / seconds);
+        }
+
+        logger.info("Salary batch for {} credited {} users in {} chunks ({} ms)",
+                runDate, credited, pending.size(), elapsedNanos / 1_000_000);
+        return credited;
+    }
+
+    /**
+     * Credits one chunk of users in its own transaction. Once it commits, their cached
+     * accounting snapshots are evicted and the credited users are sent their new balance.
+     * Users already credited for {@code runDate} are left untouched.
+     *
+     * @return the number of balances updated
+     */
+    int creditChunk(LocalDate runDate, List<UserSalaryInfo> chunk) {
+        List<Long> userIds = chunk.stream().map(UserSalaryInfo::getUserId).toList();
+        Date creditDate = Date.valueOf(runDate);
+
+        Map<Long, BigDecimal> credited = transactionTemplate.execute(status -> {
+            Map<Long, BigDecimal> recurrentTotals = expenseDAO.sumRecurrentExpensesByUsers(userIds).stream()
+                    .collect(Collectors.toMap(RecurrentExpenseInfo::getUserId, RecurrentExpenseInfo::getExpense));
+            Map<Long, BigDecimal> newBalances = new LinkedHashMap<>();
+            for (UserSalaryInfo info : chunk) {
+                BigDecimal recurrent = recurrentTotals.getOrDefault(info.getUserId(), BigDecimal.ZERO);
+                newBalances.put(info.getUserId(), info.getMonthlySalary().subtract(recurrent));
+            }
+
+            jdbcTemplate.batchUpdate(DISCARD_JOURNAL_SQL, chunk, chunk.size(), (ps, info) -> {
+                ps.setLong(1, info.getUserId());
+                ps.setLong(2, info.getUserId());
+                ps.setDate(3, creditDate);
+            });
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, chunk, chunk.size(), (ps, info) -> {
+                ps.setBigDecimal(1, newBalances.get(info.getUserId()));
+                ps.setDate(2, creditDate);
+                ps.setLong(3, info.getUserId());
+                ps.setDate(4, creditDate);
+            });
+            newBalances.keySet().retainAll(updatedUserIds(chunk, counts));
+            return newBalances;
+        });
+        accountingSnapshotCache.evictAll(userIds);
+        credited.forEach((userId, balance) ->
+                realtimeEventPublisher.balanceChanged(userId, BalanceEvent.salaryCredit(balance)));
+
+        usersCredited.increment(credited.size());
+        chunksProcessed.increment();
+        return credited.size();
+    }
+
+    private SalaryRun newRun(LocalDate runDate) {
+        LocalDateTime now = LocalDateTime.now();
+
+        SalaryRun run = new SalaryRun();
+        run.setRunDate(runDate);
+        run.setSalaryDay(runDate.getDayOfMonth());
+        run.setCursorUserId(0L);
+        run.setStatus(SalaryRunStatus.RUNNING);
+        run.setStartedAt(now);
+        run.setUpdatedAt(now);
+        return salaryRunDAO.save(run);
+    }
+
+    private void finish(SalaryRun run, ChunkWatermark watermark, SalaryRunStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+
+        run.setCursorUserId(watermark.getCursorUserId());
+        run.setUsersCredited(watermark.getUsersCredited());
+        run.setStatus(status);
+        run.setUpdatedAt(now);
+        run.setFinishedAt(status == SalaryRunStatus.COMPLETED ? now : null);
+        salaryRunDAO.save(run);
+    }
+
+    /**
+     * Maps the batch row counts back to the users of the chunk, which were batched in order.
+     */
+    private static Set<Long> updatedUserIds(List<UserSalaryInfo> chunk, int[][] counts) {
+        Set<Long> updated = new HashSet<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Some drivers report batched statements without a row count
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    updated.add(chunk.get(index).getUserId());
+                }
+                index++;
+            }
+        }
+        return updated;
+    }
+
+    private long awaitAll(List<Future<Integer>> pending) {
+        long credited = 0;
+        RuntimeException failure = null;
+
+        for (Future<Integer> future : pending) {
+            try {
+                credited += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExpenseException.PersistenceException("credit monthly salaries", e);
+            } catch (ExecutionException e) {
+                logger.error("Salary batch chunk failed", e.getCause());
+                if (failure == null) {
+                    failure = new ExpenseException.PersistenceException("credit monthly salaries", e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return credited;
+    }
+
+    /**
+     * Tracks which chunks of a run have committed. Chunks finish out of order on the worker
+     * pool, so the checkpoint only moves past a chunk once every chunk before it is done.
+     */
+    static final class ChunkWatermark {
+
+        private final TreeMap<Long, Long> lastUserIds = new TreeMap<>();
+        private final Map<Long, Integer> completed = new HashMap<>();
+        private long nextSequence;
+        private long cursorUserId;
+        private long usersCredited;
+
+        ChunkWatermark(long cursorUserId, long usersCredited) {
+            this.cursorUserId = cursorUserId;
+            this.usersCredited = usersCredited;
+        }
+
+        synchronized long register(long lastUserId) {
+            long sequence = nextSequence++;
+            lastUserIds.put(sequence, lastUserId);
+            return sequence;
+        }
+
+        /**
+         * Marks a chunk as committed.
+         *
+         * @return whether the checkpoint moved forward
+         */
+        synchronized boolean complete(long sequence, int updated) {
+            completed.put(sequence, updated);
+
+            boolean advanced = false;
+            while (!lastUserIds.isEmpty() && completed.containsKey(lastUserIds.firstKey())) {
+                long head = lastUserIds.firstKey();
+                cursorUserId = lastUserIds.remove(head);
+                usersCredited += completed.remove(head);
+                advanced = true;
+            }
+            return advanced;
+        }
+
+        synchronized long getCursorUserId() {
+            return cursorUserId;
+        }
+
+        synchronized long getUsersCredited() {
+            return usersCredited;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
+import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user data version behind the strong ETags of the expense and additions read APIs.
+ * Every write to a user's expenses or accounting bumps it once its transaction commits, so
+ * an unchanged poll is answered with 304 after a memory lookup instead of a full query.
+ *
+ * <p>Versions are drawn from one process-wide sequence, so a user whose entry was evicted
+ * gets a version no earlier tag carried, and tags also carry the instance start time, so
+ * they don't survive a restart. Readers must take the tag before loading the data: a tag
+ * taken after a concurrent write committed but before it bumped only costs one extra full
+ * response, whereas the opposite order could pin a stale body to a current tag.</p>
+ *
+ * <p>Each tag also names the scope the response was resolved for, such as its date range.
+ * A defaulted range moves with the clock while the version does not, so without the scope a
+ * client would keep revalidating last year's list after New Year.</p>
+ *
+ * <p>Versions live in this process only, so the application must run as a single instance:
+ * a write handled by another instance would not move this one's version, and polls here
+ * would keep getting 304 for data that has changed.</p>
+ */
+@Service
+public class UserDataVersionService {
+
+    private final UserService userService;
+    private final Cache<Long, Long> versions;
+    private final AtomicLong sequence = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public UserDataVersionService(UserService userService,
+                                  @Value("${data-version.cache.maximum-size}") long maximumSize) {
+        this.userService = userService;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Returns the strong ETag of the authenticated user's current data version for a response
+     * resolved to the given scope.
+     *
+     * @param scope what the response covers, e.g. {@link DateRange#toEtagScope()}; must not contain quotes
+     * @throws UserException.UserNotAuthenticatedException if no user is authenticated
+     */
+    public String currentEtag(String scope) {
+        LocalUser user = userService.getAuthenticatedUser();
+        if (user == null) {
+            throw new UserException.UserNotAuthenticatedException();
+        }
+        return etag(user.getId(), scope);
+    }
+
+    public String etag(Long userId, String scope) {
+        long version = versions.get(userId, id -> sequence.incrementAndGet());
+        return "\"" + epoch + "-" + Long.toString(version, 36) + "-" + scope + "\"";
+    }
+
+    /**
+     * Moves the user to a new data version once the current transaction commits, or right
+     * away when there is none. A rolled back write leaves the version unchanged.
+     */
+    public void bump(Long userId) {
+        AfterCommit.run(() -> versions.put(userId, sequence.incrementAndGet()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
+import com.github.rafaelmelo23.expense_tracker.dto.auth.AuthenticatedUser;
 import com.github.rafaelmelo23.expense_tracker.dto.auth.RegistrationBody;
 import com.github.rafaelmelo23.expense_tracker.dto.auth.UserDTO;
 import com.github.rafaelmelo23.expense_tracker.exception.UserException;
@@ -22,6 +23,7 @@ public class UserService {
     private final LocalUserDAO localUserDAO;
     private final HashingService hashingService;
     private final JWTService jwt;
+    private final PrincipalCache principalCache;
     Logger logger = LoggerFactory.getLogger(UserService.class);
 
     /**
@@ -30,11 +32,13 @@ public class UserService {
      * @param localUserDAO    DAO for user persistence operations
      * @param hashingService  Service to handle password hashing
      * @param jwt             Service to handle JWT operations
+     * @param principalCache  Cache of authenticated user snapshots
      */
-    public UserService(LocalUserDAO localUserDAO, HashingService hashingService, JWTService jwt) {
+    public UserService(LocalUserDAO localUserDAO, HashingService hashingService, JWTService jwt, PrincipalCache principalCache) {
         this.localUserDAO = localUserDAO;
         this.hashingService = hashingService;
         this.jwt = jwt;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -58,6 +62,7 @@ public class UserService {
         user.setRole(Role.ROLE_USER);
 
         localUserDAO.save(user);
+        principalCache.evict(user.getEmail());
         logger.info("User registered successfully with email: {}", user.getEmail());
     }
 
@@ -86,6 +91,10 @@ public class UserService {
             throw new UserException.UserInvalidAuthenticationException();
         }
 
+        if (hashingService.needsRehash(user.getPassword())) {
+            rehashInBackground(user.getId(), user.getPassword(), raw);
+        }
+
         String jwtToken = jwt.generateJWT(user);
         UserDTO userDTO = new UserDTO();
         userDTO.setEmail(user.getEmail());
@@ -95,6 +104,28 @@ public class UserService {
         return userDTO;
     }
 
+    /**
+     * Re-hashes a password whose stored hash uses an outdated algorithm or cost, after a
+     * successful login proved the raw password. Runs off the request path and is skipped
+     * when the hashing pool is busy; the next login tries again.
+     *
+     * @param userId       ID of the user whose hash is replaced
+     * @param previousHash The stored hash the login was checked against
+     * @param rawPassword  The verified raw password
+     */
+    private void rehashInBackground(Long userId, String previousHash, String rawPassword) {
+        hashingService.hashPasswordInBackground(rawPassword)
+                .thenAccept(newHash -> {
+                    if (localUserDAO.replacePasswordHash(userId, previousHash, newHash) == 1) {
+                        logger.info("Re-hashed password of user {} with the current hashing parameters", userId);
+                    }
+                })
+                .exceptionally(e -> {
+                    logger.debug("Password re-hash of user {} skipped: {}", userId, e.getMessage());
+                    return null;
+                });
+    }
+
     /**
      * Retrieves the currently authenticated user from the security context.
      *
@@ -111,7 +142,10 @@ public class UserService {
 
         Object principal = authentication.getPrincipal();
 
-        if (principal instanceof LocalUser authenticatedUser) {
+        if (principal instanceof AuthenticatedUser snapshot) {
+            logger.debug("Authenticated user retrieved: {}", snapshot.getEmail());
+            return snapshot.toLocalUser();
+        } else if (principal instanceof LocalUser authenticatedUser) {
             logger.debug("Authenticated user retrieved: {}", authenticatedUser.getEmail());
             return authenticatedUser;
         } else {
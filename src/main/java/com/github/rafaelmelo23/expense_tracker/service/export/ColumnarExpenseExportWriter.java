@@ -0,0 +1,145 @@
+package com.github.rafaelmelo23.expense_tracker.service.export;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact binary export laid out in column-oriented row groups, in the spirit of Parquet:
+ * rows are buffered {@value #ROW_GROUP_SIZE} at a time and each group is written column by
+ * column, so similar values sit next to each other and compress well under gzip.
+ *
+ * <p>Layout, all integers as unsigned LEB128 varints unless noted:</p>
+ * <pre>
+ * file      := magic "EXPC" version(byte = 1) rowGroup* end(varint 0)
+ * rowGroup  := rowCount(&gt; 0) id date amount category recurrent frequency name description
+ * id        := rowCount zigzag deltas, the first relative to 0
+ * date      := rowCount zigzag deltas of epoch seconds (UTC), the first relative to 0
+ * amount    := scale(byte) rowCount zigzag unscaled values at that scale
+ * category  := rowCount bytes, enum ordinal + 1, 0 for null
+ * recurrent := ceil(rowCount / 8) bytes, bit i of byte i / 8 set when row i is recurrent
+ * frequency := rowCount bytes, enum ordinal + 1, 0 for null
+ * name, description := per row, byte length + 1 (0 for null) followed by the UTF-8 bytes
+ * </pre>
+ * Rows are written in date order, so the date and id deltas are small and mostly one byte.
+ */
+public class ColumnarExpenseExportWriter implements ExpenseExportWriter {
+
+    public static final byte[] MAGIC = {'E', 'X', 'P', 'C'};
+    public static final int VERSION = 1;
+    public static final int ROW_GROUP_SIZE = 4096;
+
+    private final DataOutputStream out;
+    private final ExpenseExportRow[] group = new ExpenseExportRow[ROW_GROUP_SIZE];
+    private int buffered;
+
+    ColumnarExpenseExportWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.out.write(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    @Override
+    public void write(ExpenseExportRow row) throws IOException {
+        group[buffered++] = row;
+        if (buffered == ROW_GROUP_SIZE) {
+            writeGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeGroup();
+        writeVarint(0);
+        out.flush();
+    }
+
+    private void writeGroup() throws IOException {
+        if (buffered == 0) {
+            return;
+        }
+        int rows = buffered;
+        writeVarint(rows);
+
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long id = group[i].getId();
+            writeVarint(zigzag(id - previous));
+            previous = id;
+        }
+
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long seconds = group[i].getDate().toEpochSecond(ZoneOffset.UTC);
+            writeVarint(zigzag(seconds - previous));
+            previous = seconds;
+        }
+
+        int scale = 0;
+        for (int i = 0; i < rows; i++) {
+            scale = Math.max(scale, group[i].getAmount().scale());
+        }
+        out.writeByte(scale);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal amount = group[i].getAmount().setScale(scale);
+            writeVarint(zigzag(amount.unscaledValue().longValueExact()));
+        }
+
+        for (int i = 0; i < rows; i++) {
+            out.writeByte(group[i].getCategory() == null ? 0 : group[i].getCategory().ordinal() + 1);
+        }
+
+        for (int i = 0; i < rows; i += 8) {
+            int bits = 0;
+            for (int bit = 0; bit < 8 && i + bit < rows; bit++) {
+                if (Boolean.TRUE.equals(group[i + bit].getRecurrent())) {
+                    bits |= 1 << bit;
+                }
+            }
+            out.writeByte(bits);
+        }
+
+        for (int i = 0; i < rows; i++) {
+            out.writeByte(group[i].getFrequency() == null ? 0 : group[i].getFrequency().ordinal() + 1);
+        }
+
+        for (int i = 0; i < rows; i++) {
+            writeText(group[i].getName());
+        }
+        for (int i = 0; i < rows; i++) {
+            writeText(group[i].getDescription());
+        }
+
+        Arrays.fill(group, 0, rows, null);
+        buffered = 0;
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
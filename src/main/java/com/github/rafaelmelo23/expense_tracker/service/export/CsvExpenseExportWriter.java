@@ -0,0 +1,80 @@
+package com.github.rafaelmelo23.expense_tracker.service.export;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+class CsvExpenseExportWriter implements ExpenseExportWriter {
+
+    private static final String HEADER = "id,date,amount,name,category,description,recurrent,frequency\r\n";
+
+    private final Writer writer;
+
+    CsvExpenseExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void write(ExpenseExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(row.getDate().toString());
+        writer.write(',');
+        writer.write(row.getAmount().toPlainString());
+        writer.write(',');
+        writeText(row.getName());
+        writer.write(',');
+        if (row.getCategory() != null) {
+            writer.write(row.getCategory().name());
+        }
+        writer.write(',');
+        writeText(row.getDescription());
+        writer.write(',');
+        writer.write(Boolean.TRUE.equals(row.getRecurrent()) ? "true" : "false");
+        writer.write(',');
+        if (row.getFrequency() != null) {
+            writer.write(row.getFrequency().name());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.rafaelmelo23.expense_tracker.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Formats supported by the expense export.
+ */
+public enum ExpenseExportFormat {
+
+    /**
+     * RFC 4180 CSV with a header row, readable back by the CSV import.
+     */
+    CSV("text/csv", "csv"),
+    /**
+     * One JSON object per line using the {@code ExpenseDTO} field names, readable back by the
+     * JSON-lines import.
+     */
+    JSON_LINES("application/x-ndjson", "jsonl"),
+    /**
+     * Compact binary column-oriented format, see {@link ColumnarExpenseExportWriter}.
+     */
+    COLUMNAR("application/vnd.expense-tracker.columnar", "etc");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExpenseExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public ExpenseExportWriter open(OutputStream out, JsonFactory jsonFactory) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvExpenseExportWriter(out);
+            case JSON_LINES -> new JsonLinesExpenseExportWriter(out, jsonFactory);
+            case COLUMNAR -> new ColumnarExpenseExportWriter(out);
+        };
+    }
+
+    /**
+     * Resolves the {@code format} request parameter: a format name or file extension,
+     * case-insensitive. Defaults to CSV.
+     *
+     * @throws ExpenseException.InvalidExpenseDataException if the format is unknown
+     */
+    public static ExpenseExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (ExpenseExportFormat format : values()) {
+            if (format.name().equals(normalized) || format.fileExtension.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new ExpenseException.InvalidExpenseDataException("unknown export format: " + value);
+    }
+}
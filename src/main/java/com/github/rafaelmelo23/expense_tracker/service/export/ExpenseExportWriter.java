@@ -0,0 +1,19 @@
+package com.github.rafaelmelo23.expense_tracker.service.export;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+
+import java.io.IOException;
+
+/**
+ * Writes export rows to an output stream in one {@link ExpenseExportFormat}. Writers buffer
+ * at most a bounded number of rows, never the whole export.
+ */
+public interface ExpenseExportWriter {
+
+    void write(ExpenseExportRow row) throws IOException;
+
+    /**
+     * Writes anything still buffered and the format's trailer. Does not close the stream.
+     */
+    void finish() throws IOException;
+}
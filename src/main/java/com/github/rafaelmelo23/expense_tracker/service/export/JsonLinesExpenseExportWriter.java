@@ -0,0 +1,57 @@
+package com.github.rafaelmelo23.expense_tracker.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes each row with the streaming generator rather than through data binding, so no
+ * intermediate DTO is allocated per row. The {@code id} field is extra to the
+ * {@code ExpenseDTO} fields; the JSON-lines import ignores it.
+ */
+class JsonLinesExpenseExportWriter implements ExpenseExportWriter {
+
+    private final JsonGenerator generator;
+    private boolean empty = true;
+
+    JsonLinesExpenseExportWriter(OutputStream out, JsonFactory jsonFactory) throws IOException {
+        this.generator = jsonFactory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void write(ExpenseExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.getId());
+        generator.writeStringField("expenseDate", row.getDate().toString());
+        generator.writeNumberField("expenseAmount", row.getAmount());
+        if (row.getName() != null) {
+            generator.writeStringField("expenseName", row.getName());
+        }
+        if (row.getCategory() != null) {
+            generator.writeStringField("expenseCategory", row.getCategory().name());
+        }
+        if (row.getDescription() != null) {
+            generator.writeStringField("description", row.getDescription());
+        }
+        generator.writeBooleanField("isRecurrent", Boolean.TRUE.equals(row.getRecurrent()));
+        if (row.getFrequency() != null) {
+            generator.writeStringField("recurrenceFrequency", row.getFrequency().name());
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
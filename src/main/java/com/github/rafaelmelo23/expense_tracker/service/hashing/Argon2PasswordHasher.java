@@ -0,0 +1,54 @@
+package com.github.rafaelmelo23.expense_tracker.service.hashing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Argon2id through Spring Security's encoder (backed by Bouncy Castle), in the standard
+ * {@code $argon2id$v=19$m=<memory>,t=<iterations>,p=<parallelism>$...} encoding.
+ */
+@Component
+public class Argon2PasswordHasher implements PasswordHasher {
+
+    private static final String PREFIX = "$argon2";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+
+    private final Argon2PasswordEncoder encoder;
+    private final String parameters;
+
+    public Argon2PasswordHasher(@Value("${hashing.argon2.memory-kib}") int memoryKib,
+                                @Value("${hashing.argon2.iterations}") int iterations,
+                                @Value("${hashing.argon2.parallelism}") int parallelism) {
+        this.encoder = new Argon2PasswordEncoder(SALT_BYTES, HASH_BYTES, parallelism, memoryKib, iterations);
+        this.parameters = "m=" + memoryKib + ",t=" + iterations + ",p=" + parallelism;
+    }
+
+    @Override
+    public String getName() {
+        return "argon2";
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return encoder.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean recognizes(String encodedPassword) {
+        return encodedPassword != null && encodedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        // $argon2id$v=19$m=...,t=...,p=...$salt$hash
+        String[] parts = encodedPassword.split("\\$");
+        return parts.length != 6 || !parts[1].equals("argon2id") || !parts[3].equals(parameters);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.rafaelmelo23.expense_tracker.service.hashing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt in its standard {@code $2a$<cost>$...} encoding, which is also what every
+ * existing password is stored as.
+ */
+@Component
+public class BCryptPasswordHasher implements PasswordHasher {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./A-Za-z0-9]{53}$");
+
+    private final int rounds;
+
+    public BCryptPasswordHasher(@Value("${hashing.salt.rounds}") int rounds) {
+        this.rounds = rounds;
+    }
+
+    @Override
+    public String getName() {
+        return "bcrypt";
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(rounds));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return BCrypt.checkpw(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean recognizes(String encodedPassword) {
+        return encodedPassword != null && BCRYPT_HASH.matcher(encodedPassword).matches();
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_HASH.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != rounds;
+    }
+}
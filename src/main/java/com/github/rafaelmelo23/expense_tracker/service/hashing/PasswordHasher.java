@@ -0,0 +1,29 @@
+package com.github.rafaelmelo23.expense_tracker.service.hashing;
+
+/**
+ * A password hashing algorithm together with its current cost parameters. Encoded hashes
+ * are self-describing, so a hasher can tell its own hashes apart from other algorithms'
+ * and see whether they were produced with different parameters.
+ */
+public interface PasswordHasher {
+
+    /**
+     * Name used to select this hasher with {@code hashing.algorithm}.
+     */
+    String getName();
+
+    String hash(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Whether the encoded password was produced by this algorithm.
+     */
+    boolean recognizes(String encodedPassword);
+
+    /**
+     * Whether a hash of this algorithm was produced with cost parameters other than the
+     * configured ones, higher or lower.
+     */
+    boolean needsRehash(String encodedPassword);
+}
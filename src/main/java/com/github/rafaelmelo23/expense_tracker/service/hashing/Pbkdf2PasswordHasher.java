@@ -0,0 +1,104 @@
+package com.github.rafaelmelo23.expense_tracker.service.hashing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2 with HMAC-SHA256 from the JDK, encoded as
+ * {@code $pbkdf2-sha256$i=<iterations>$<salt>$<hash>} so the iteration count travels
+ * with the hash.
+ */
+@Component
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    private static final String PREFIX = "$pbkdf2-sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public Pbkdf2PasswordHasher(@Value("${hashing.pbkdf2.iterations}") int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String getName() {
+        return "pbkdf2";
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "i=" + iterations + "$" + encoder.encodeToString(salt)
+                + "$" + encoder.encodeToString(derive(rawPassword, salt, iterations));
+    }
+
+    /**
+     * A stored hash that cannot be parsed never matches, so a corrupt row fails its login
+     * instead of the request.
+     */
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        try {
+            String[] parts = split(encodedPassword);
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] expected = decoder.decode(parts[2]);
+            byte[] actual = derive(rawPassword, decoder.decode(parts[1]), iterationsOf(parts));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64, a non-numeric iteration count and PBEKeySpec's checks
+            return false;
+        }
+    }
+
+    @Override
+    public boolean recognizes(String encodedPassword) {
+        return encodedPassword != null && encodedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        try {
+            return iterationsOf(split(encodedPassword)) != iterations;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Splits an encoded hash into its iteration, salt and hash fields.
+     */
+    private static String[] split(String encodedPassword) {
+        String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3 || !parts[0].startsWith("i=")) {
+            throw new IllegalArgumentException("Malformed PBKDF2 hash");
+        }
+        return parts;
+    }
+
+    private static int iterationsOf(String[] parts) {
+        return Integer.parseInt(parts[0].substring(2));
+    }
+
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
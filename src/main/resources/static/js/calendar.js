@@ -56,9 +56,9 @@ document.addEventListener('DOMContentLoaded', function() {
     };
 
 
-    const fetchExpensesByMonth = async () => {
+    const fetchExpensesByMonth = async (year) => {
         try {
-            const response = await fetch('/api/expense/get/all/v2');
+            const response = await fetch(`/api/expense/get/all/v2?year=${year}`);
             if (!response.ok) {
                 throw new Error(`HTTP error! status: ${response.status}`);
             }
@@ -548,7 +548,7 @@ document.addEventListener('DOMContentLoaded', function() {
         currentYearElement.textContent = year;
 
 
-        const expensesData = await fetchExpensesByMonth();
+        const expensesData = await fetchExpensesByMonth(year);
         processExpenseData(expensesData);
 
 
@@ -7,6 +7,8 @@ class FinancialCalendar {
         this.currentDate = new Date();
         this.selectedMonth = this.currentDate.getMonth();
         this.selectedYear = this.currentDate.getFullYear();
+        this.realtimeRetries = 0;
+        this.refreshTimer = null;
         this.colorStops = {
                 high: { threshold: 0.33, color: '#45c849' },
                 medium: { threshold: 0.66, color: '#FFC107' },
@@ -25,34 +27,106 @@ class FinancialCalendar {
 
     async init() {
         try {
-            await this.fetchBalance();
-            await this.fetchSalarySpentPercentage();
-            await this.fetchYearlyAdditions(this.selectedYear);
-            await this.fetchMonthData();
+            await this.fetchDashboard();
             this.renderCalendar();
             this.setupEventListeners();
+            this.connectRealtime();
         } catch (error) {
             console.error('Error initializing calendar:', error);
         }
     }
 
-    async fetchBalance() {
+    // Minimal STOMP client: the JWT cookie authenticates the handshake. Balance events are
+    // applied from their payload at once; the rest of the dashboard is re-fetched at most once
+    // per burst of events (an import, the salary batch)
+    connectRealtime() {
+        const protocol = window.location.protocol === 'https:' ? 'wss' : 'ws';
+        const socket = new WebSocket(`${protocol}://${window.location.host}/ws`);
+        const frame = (command, headers) =>
+            `${command}\n${Object.entries(headers).map(([k, v]) => `${k}:${v}`).join('\n')}\n\n\0`;
+
+        socket.onopen = () => {
+            socket.send(frame('CONNECT', { 'accept-version': '1.2', 'heart-beat': '0,25000' }));
+            socket.send(frame('SUBSCRIBE', { id: 'balance', destination: '/user/queue/balance' }));
+            socket.send(frame('SUBSCRIBE', { id: 'expenses', destination: '/user/queue/expenses' }));
+        };
+        socket.onmessage = (event) => {
+            if (typeof event.data !== 'string') {
+                return;
+            }
+            if (event.data.startsWith('CONNECTED')) {
+                // Events sent while disconnected are lost, so catch up after a reconnect
+                if (this.realtimeRetries > 0) {
+                    this.scheduleDashboardRefresh();
+                }
+                this.realtimeRetries = 0;
+            } else if (event.data.startsWith('MESSAGE')) {
+                this.handleRealtimeMessage(event.data);
+            }
+        };
+        socket.onclose = () => {
+            // Full jitter exponential backoff, so a restarted server isn't hit by every tab at once
+            this.realtimeRetries++;
+            const ceiling = Math.min(60000, 1000 * 2 ** Math.min(this.realtimeRetries, 6));
+            setTimeout(() => this.connectRealtime(), Math.random() * ceiling);
+        };
+    }
+
+    handleRealtimeMessage(data) {
+        const separator = data.indexOf('\n\n');
+        const headers = data.substring(0, separator).split('\n');
+        const destination = (headers.find(h => h.startsWith('destination:')) || '').substring('destination:'.length);
+
+        if (destination.endsWith('/queue/balance')) {
+            let event;
+            try {
+                event = JSON.parse(data.substring(separator + 2).replace(/\0$/, ''));
+            } catch (error) {
+                this.scheduleDashboardRefresh();
+                return;
+            }
+            this.balance = event.balance;
+            this.calculateDailyBudget();
+            this.renderCalendar();
+            // A new expense is followed by its own event on /queue/expenses
+            if (event.source === 'EXPENSE') {
+                return;
+            }
+        }
+        this.scheduleDashboardRefresh();
+    }
+
+    scheduleDashboardRefresh() {
+        clearTimeout(this.refreshTimer);
+        this.refreshTimer = setTimeout(async () => {
+            await this.fetchDashboard();
+            this.renderCalendar();
+        }, 500);
+    }
+
+    async fetchDashboard() {
         try {
-            const response = await fetch('/api/user/get/balance');
+            const response = await fetch(`/api/dashboard?year=${this.selectedYear}&month=${this.selectedMonth + 1}`);
             if (!response.ok) {
-                throw new Error('Failed to fetch balance');
+                throw new Error('Failed to fetch dashboard');
             }
 
-            this.balance = await response.json();
+            const dashboard = await response.json();
+            this.balance = dashboard.balance;
+            this.salarySpentPercentage = dashboard.salarySpentPercent;
+            this.yearlyAdditions = dashboard.yearlyAdditions;
+            this.expenses = dashboard.expenses;
             this.calculateDailyBudget();
         } catch (error) {
-            console.error('Error fetching balance:', error);
+            console.error('Error fetching dashboard:', error);
+            this.salarySpentPercentage = 0;
+            this.yearlyAdditions = [];
         }
     }
 
     async fetchMonthData() {
         try {
-            const response = await fetch('/api/expense/get/all/v2');
+            const response = await fetch(`/api/expense/get/all/v2?year=${this.selectedYear}&month=${this.selectedMonth + 1}`);
             if (!response.ok) {
                 throw new Error('Failed to fetch expense data');
             }
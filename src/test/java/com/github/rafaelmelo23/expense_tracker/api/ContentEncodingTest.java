@@ -0,0 +1,31 @@
+package com.github.rafaelmelo23.expense_tracker.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentEncodingTest {
+
+    @Test
+    public void testAcceptsGzip_ListedOrWildcard() {
+        assertTrue(ContentEncoding.acceptsGzip("gzip, deflate"));
+        assertTrue(ContentEncoding.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(ContentEncoding.acceptsGzip("*"));
+    }
+
+    @Test
+    public void testAcceptsGzip_ZeroQualityRefuses() {
+        assertFalse(ContentEncoding.acceptsGzip("gzip;q=0"));
+        assertFalse(ContentEncoding.acceptsGzip("gzip; q=0.0, identity"));
+        assertFalse(ContentEncoding.acceptsGzip("*;q=0"));
+        assertFalse(ContentEncoding.acceptsGzip("gzip;q=0, *"));
+    }
+
+    @Test
+    public void testAcceptsGzip_AbsentOrUnrelated() {
+        assertFalse(ContentEncoding.acceptsGzip(null));
+        assertFalse(ContentEncoding.acceptsGzip(""));
+        assertFalse(ContentEncoding.acceptsGzip("deflate, br"));
+        assertFalse(ContentEncoding.acceptsGzip("xgzip"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.rafaelmelo23.expense_tracker.api.controller.accounting;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rafaelmelo23.expense_tracker.api.ColumnarContent;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -73,6 +75,31 @@ public class AdditionsControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1]").doesNotExist());
     }
 
+    @Test
+    public void testGetYearlyAdditions_ColumnarShapeOnRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/additions/get/yearly")
+                        .param("year", "2025")
+                        .accept(ColumnarContent.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(ColumnarContent.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.amount[0]").value(500))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.description[0]").value("Bonus from freelance job"));
+    }
+
+    @Test
+    public void testGetYearlyAdditions_UnchangedDataAnswersNotModified() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/additions/get/yearly")
+                        .param("year", "2025"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/additions/get/yearly")
+                        .param("year", "2025")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     public void testAddToBalance() throws Exception {
         UserAdditionsDTO dto = new UserAdditionsDTO();
@@ -0,0 +1,117 @@
+package com.github.rafaelmelo23.expense_tracker.api.controller.dashboard;
+
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the dashboard queries run on the dashboard executor, which cannot see
+ * rows written by an uncommitted test transaction. The test seeds and removes its own user.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DashboardControllerTest {
+
+    private static final long USER_ID = 3201L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO local_user (id, first_name, last_name, email, password, role, is_first_login) " +
+                "VALUES (?, 'Dash', 'Board', 'dash@example.com', 'x', 'ROLE_USER', FALSE)", USER_ID);
+        jdbcTemplate.update("INSERT INTO user_accounting (id, salary_date, monthly_salary, current_balance, local_user_id) " +
+                "VALUES (?, 5, 4000.00, 1000.00, ?)", USER_ID, USER_ID);
+        jdbcTemplate.update("INSERT INTO user_additions_log (user_id, amount, description, created_at) " +
+                "VALUES (?, 250.00, 'Refund', '2025-02-10 09:00:00')", USER_ID);
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (3201, 'Market', 'FOOD', 120.00, '2025-05-02 10:00:00', FALSE, ?)", USER_ID);
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (3202, 'Cinema', 'ENTERTAINMENT', 40.00, '2025-06-02 10:00:00', FALSE, ?)", USER_ID);
+
+        LocalUser user = new LocalUser();
+        user.setId(USER_ID);
+        user.setRole(Role.ROLE_USER);
+        user.setEmail("dash@example.com");
+        user.setIsFirstLogin(false);
+
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(user);
+        when(auth.isAuthenticated()).thenReturn(true);
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(auth);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM expense WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM user_additions_log WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM user_accounting WHERE local_user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM local_user WHERE id = ?", USER_ID);
+    }
+
+    @Test
+    public void testGetDashboard_AssemblesEverySection() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/dashboard")
+                        .param("year", "2025")
+                        .param("month", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1000.00))
+                .andExpect(jsonPath("$.monthlySalary").value(4000.00))
+                .andExpect(jsonPath("$.salarySpentPercent").value(0.75))
+                .andExpect(jsonPath("$.yearlyAdditions[0].amount").value(250.00))
+                .andExpect(jsonPath("$.yearlyAdditions[1]").doesNotExist())
+                .andExpect(jsonPath("$.expenses.monthlyExpenses.MAY[0].expenseName").value("Market"))
+                .andExpect(jsonPath("$.expenses.monthlyExpenses.JUNE").doesNotExist());
+    }
+
+    @Test
+    public void testGetDashboard_UnchangedPayloadIsNotModified() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/dashboard")
+                        .param("year", "2025")
+                        .param("month", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/dashboard")
+                        .param("year", "2025")
+                        .param("month", "5")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetDashboard_InvalidMonth() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/dashboard")
+                        .param("year", "2025")
+                        .param("month", "13"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
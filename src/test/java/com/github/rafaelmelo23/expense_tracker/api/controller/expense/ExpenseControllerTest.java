@@ -1,31 +1,52 @@
 package com.github.rafaelmelo23.expense_tracker.api.controller.expense;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rafaelmelo23.expense_tracker.api.ColumnarContent;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
 import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import com.github.rafaelmelo23.expense_tracker.service.ExpenseExportService;
 import com.github.rafaelmelo23.expense_tracker.service.ExpenseService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -43,6 +64,18 @@ public class ExpenseControllerTest {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExpenseExportService expenseExportService;
+
+    @Value("${spring.mvc.async.request-timeout}")
+    private Duration asyncRequestTimeout;
+
+    @Value("${expense.export.timeout-seconds}")
+    private long exportTimeoutSeconds;
+
     private LocalUser testUser;
 
     @BeforeEach
@@ -120,4 +153,247 @@ public class ExpenseControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.monthlyExpenses.MAY[0].expenseAmount").value(300));
     }
+
+    @Test
+    public void testGetExpenseSummary() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/summary")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.monthlyTotals.MAY.HOUSING").value(1500.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.monthlyCounts.MAY.HOUSING").value(1));
+    }
+
+    @Test
+    public void testGetExpenseSummary_CountsRecurrentExpenseInEveryMonthItApplies() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/summary")
+                        .param("year", "2025"))
+                .andExpect(status().isOk())
+                // Rent is monthly from May 2025, Groceries a one-off in May
+                .andExpect(jsonPath("$.monthlyTotals.APRIL").doesNotExist())
+                .andExpect(jsonPath("$.monthlyTotals.MAY.FOOD").value(300.00))
+                .andExpect(jsonPath("$.monthlyTotals.MAY.HOUSING").value(1500.00))
+                .andExpect(jsonPath("$.monthlyTotals.JUNE.HOUSING").value(1500.00))
+                .andExpect(jsonPath("$.monthlyTotals.DECEMBER.HOUSING").value(1500.00))
+                .andExpect(jsonPath("$.monthlyCounts.DECEMBER.HOUSING").value(1));
+    }
+
+    @Test
+    public void testGetAllExpenses_ColumnarShapeOnRequest() throws Exception {
+        MvcResult rows = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/all"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+        int rowCount = objectMapper.readTree(rows.getResponse().getContentAsString()).size();
+        String rowEtag = rows.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult columnar = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/all")
+                        .accept(ColumnarContent.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_NONE_MATCH, rowEtag))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(ColumnarContent.MEDIA_TYPE))
+                .andExpect(jsonPath("$.size").value(rowCount))
+                .andExpect(jsonPath("$.expenseAmount", hasSize(rowCount)))
+                .andExpect(jsonPath("$.expenseAmount[0]").value(1500.00))
+                .andExpect(jsonPath("$.expenseCategory[0]").value("HOUSING"))
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/all")
+                        .accept(ColumnarContent.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_NONE_MATCH, columnar.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetExpenseSummary_UnchangedDataAnswersNotModified() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/summary")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetExpensePage_FollowsCursorToLastPage() throws Exception {
+        int year = LocalDate.now().getYear();
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (9001, 'Books', 'EDUCATION', 40.00, ?, FALSE, 1001)", LocalDateTime.of(year, 1, 10, 9, 0));
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (9002, 'Cinema', 'ENTERTAINMENT', 25.00, ?, FALSE, 1001)", LocalDateTime.of(year, 2, 10, 9, 0));
+
+        // Rent is recurrent since 2025 and sorts first, then the two expenses above
+        MvcResult firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/page")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenses", hasSize(2)))
+                .andExpect(jsonPath("$.expenses[0].expenseName").value("Rent"))
+                .andExpect(jsonPath("$.expenses[1].expenseName").value("Books"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/page")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenses", hasSize(1)))
+                .andExpect(jsonPath("$.expenses[0].expenseName").value("Cinema"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void testGetExpensePage_InvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/page")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testStreamExpenses() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].expenseName").value("Rent"))
+                .andExpect(jsonPath("$[0].expenseAmount").value(1500.00));
+    }
+
+    @Test
+    public void testGetAllExpenses_ForYear() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/all")
+                        .param("year", "2025"))
+                .andExpect(status().isOk())
+                // Groceries plus the monthly Rent from May through December
+                .andExpect(jsonPath("$", hasSize(9)))
+                .andExpect(jsonPath("$[0].expenseName").value("Rent"))
+                .andExpect(jsonPath("$[1].expenseAmount").value(300.00))
+                .andExpect(jsonPath("$[8].recurrenceFrequency").value("MONTHLY"));
+    }
+
+    @Test
+    public void testGetAllExpensesByMonth_ForVisibleMonthOnly() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/all/v2")
+                        .param("from", "2025-06-01")
+                        .param("to", "2025-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyExpenses.MAY").doesNotExist())
+                .andExpect(jsonPath("$.monthlyExpenses.JUNE", hasSize(1)))
+                .andExpect(jsonPath("$.monthlyExpenses.JUNE[0].expenseName").value("Rent"));
+    }
+
+    @Test
+    public void testGetAllExpenses_InvalidRange() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/get/all")
+                        .param("from", "2025-06-01")
+                        .param("to", "2025-05-01"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void testImportExpenses_Csv() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/expense/import")
+                        .contentType("text/csv")
+                        .content("date,amount,name\n2026-01-10,25.00,Taxi\n2026-01-11,oops,Broken\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.newBalance").value(2225.00));
+    }
+
+    @Test
+    public void testImportExpenses_JsonLines() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/expense/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"expenseAmount\": 5.00, \"expenseDate\": \"2026-01-10T09:00:00\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    public void testExportExpenses_CsvWholeHistory() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition", "attachment; filename=\"expenses.csv\""))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "id,date,amount,name,category,description,recurrent,frequency\r\n" +
+                        "1002,2025-05-01T10:00,1500.00,Rent,HOUSING,Monthly apartment rent,true,\r\n" +
+                        "1001,2025-05-01T14:30,300.00,Groceries,FOOD,Weekly grocery shopping,false,\r\n"));
+    }
+
+    @Test
+    public void testExportExpenses_GzipJsonLines() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/export")
+                        .param("format", "jsonl")
+                        .param("year", "2025")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String jsonLines;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            jsonLines = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = jsonLines.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Rent", objectMapper.readTree(lines[0]).get("expenseName").asText());
+    }
+
+    @Test
+    public void testExportExpenses_GzipRefusedWithZeroQuality() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/export")
+                        .header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Content-Encoding"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        startsWith("id,date,amount,name,category")));
+    }
+
+    @Test
+    public void testExportExpenses_UnknownFormat() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/export").param("format", "xlsx"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void testExportExpenses_AsyncTimeoutOutlastsExportDeadline() {
+        assertTrue(asyncRequestTimeout.compareTo(Duration.ofSeconds(exportTimeoutSeconds)) > 0);
+    }
+
+    @Test
+    public void testExportExpenses_BusyWhenEverySlotIsTaken() throws Exception {
+        List<ExpenseExportService.ExportSlot> slots = new ArrayList<>();
+        try {
+            while (true) {
+                slots.add(expenseExportService.reserveSlot());
+            }
+        } catch (ExpenseException.ExportBusyException expected) {
+            // every slot is now held by the test
+        }
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/expense/export"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            slots.forEach(ExpenseExportService.ExportSlot::close);
+        }
+    }
 }
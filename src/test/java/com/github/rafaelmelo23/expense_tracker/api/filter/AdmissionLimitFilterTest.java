@@ -0,0 +1,83 @@
+package com.github.rafaelmelo23.expense_tracker.api.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private AdmissionLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionLimitFilter(1, 50, meterRegistry);
+    }
+
+    @Test
+    public void testDoFilter_RejectsWhenNoPermitFreesUp() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> inFlight = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(apiRequest(), new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), rejected, new MockFilterChain());
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("http.admission.rejected").counter().count());
+
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), admitted, new MockFilterChain());
+        assertEquals(200, admitted.getStatus());
+    }
+
+    @Test
+    public void testDoFilter_AsyncRequestHoldsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest asyncRequest = apiRequest();
+        asyncRequest.setAsyncSupported(true);
+        FilterChain asyncChain = (request, response) -> ((HttpServletRequest) request).startAsync();
+
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), asyncChain);
+        assertEquals(0.0, meterRegistry.get("http.admission.permits.available").gauge().value());
+
+        asyncRequest.getAsyncContext().complete();
+        assertEquals(1.0, meterRegistry.get("http.admission.permits.available").gauge().value());
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/expense/get/all");
+    }
+}
@@ -0,0 +1,188 @@
+package com.github.rafaelmelo23.expense_tracker.api.security;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.AuthenticatedUser;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.StompUserPrincipal;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.VerifiedToken;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import com.github.rafaelmelo23.expense_tracker.service.JWTService;
+import com.github.rafaelmelo23.expense_tracker.service.PrincipalCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the servlet and STOMP sides of {@link JWTFilterSecurity}.
+ */
+public class JWTFilterSecurityTest {
+
+    @Mock
+    private JWTService jwtService;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private MessageChannel channel;
+
+    private JWTFilterSecurity jwtFilterSecurity;
+    private AuthenticatedUser user;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        jwtFilterSecurity = new JWTFilterSecurity(jwtService, principalCache);
+
+        LocalUser localUser = new LocalUser();
+        localUser.setId(7L);
+        localUser.setEmail("stomp@example.com");
+        localUser.setRole(Role.ROLE_USER);
+        user = AuthenticatedUser.of(localUser);
+
+        when(jwtService.verifyToken("token"))
+                .thenReturn(new VerifiedToken("stomp@example.com", "ROLE_USER", Instant.now().plusSeconds(60)));
+        when(principalCache.find("stomp@example.com")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testDoFilter_ValidTokenAuthenticatesRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtFilterSecurity.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    public void testDoFilter_MalformedTokenIsUnauthorized() throws Exception {
+        when(jwtService.verifyToken("garbage")).thenThrow(new JWTDecodeException("not a JWT"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer garbage");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtFilterSecurity.doFilter(request, response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    public void testDoFilter_ExpiredTokenIsUnauthorized() throws Exception {
+        when(jwtService.verifyToken("expired")).thenThrow(new TokenExpiredException("The Token has expired"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer expired");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilterSecurity.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    public void testDoFilter_NoTokenPassesThroughAnonymously() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtFilterSecurity.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    public void testPreSend_ConnectWithInvalidBearerHeaderIsRejected() {
+        when(jwtService.verifyToken("garbage")).thenThrow(new JWTDecodeException("not a JWT"));
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer garbage");
+
+        assertThrows(MessageDeliveryException.class, () -> jwtFilterSecurity.preSend(message(accessor), channel));
+    }
+
+    @Test
+    public void testPreSend_ConnectWithBearerHeaderSetsUserIdPrincipal() {
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer token");
+
+        Message<?> result = jwtFilterSecurity.preSend(message(accessor), channel);
+
+        assertEquals(new StompUserPrincipal(7L), StompHeaderAccessor.wrap(result).getUser());
+    }
+
+    @Test
+    public void testPreSend_ConnectReusesHandshakeAuthentication() {
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(user, "token", List.of()));
+
+        Message<?> result = jwtFilterSecurity.preSend(message(accessor), channel);
+
+        assertEquals("7", StompHeaderAccessor.wrap(result).getUser().getName());
+    }
+
+    @Test
+    public void testPreSend_AnonymousConnectIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.CONNECT);
+
+        assertThrows(MessageDeliveryException.class, () -> jwtFilterSecurity.preSend(message(accessor), channel));
+    }
+
+    @Test
+    public void testPreSend_OnlyOwnUserDestinationsCanBeSubscribed() {
+        StompHeaderAccessor own = accessor(StompCommand.SUBSCRIBE);
+        own.setDestination("/user/queue/balance");
+        StompHeaderAccessor raw = accessor(StompCommand.SUBSCRIBE);
+        raw.setDestination("/queue/balance-user123");
+
+        assertNotNull(jwtFilterSecurity.preSend(message(own), channel));
+        assertThrows(MessageDeliveryException.class, () -> jwtFilterSecurity.preSend(message(raw), channel));
+    }
+
+    @Test
+    public void testPreSend_ClientSendIsRejected() {
+        StompHeaderAccessor accessor = accessor(StompCommand.SEND);
+        accessor.setDestination("/queue/balance-user123");
+
+        assertThrows(MessageDeliveryException.class, () -> jwtFilterSecurity.preSend(message(accessor), channel));
+    }
+
+    private static StompHeaderAccessor accessor(StompCommand command) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+    private static Message<?> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
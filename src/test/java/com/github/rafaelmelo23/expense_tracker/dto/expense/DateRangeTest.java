@@ -0,0 +1,57 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateRangeTest {
+
+    @Test
+    public void testResolve_DefaultsToCurrentYear() {
+        int year = LocalDate.now().getYear();
+
+        DateRange range = DateRange.resolve(null, null, null, null);
+
+        assertEquals(LocalDateTime.of(year, 1, 1, 0, 0), range.getStart());
+        assertEquals(LocalDateTime.of(year, 12, 31, 23, 59, 59), range.getEnd());
+    }
+
+    @Test
+    public void testResolve_YearAndMonth() {
+        DateRange range = DateRange.resolve(null, null, 2024, 2);
+
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), range.getStart());
+        assertEquals(LocalDateTime.of(2024, 2, 29, 23, 59, 59), range.getEnd());
+    }
+
+    @Test
+    public void testResolve_OpenEndedFromAndTo() {
+        DateRange fromOnly = DateRange.resolve(LocalDate.of(2025, 3, 15), null, null, null);
+        DateRange toOnly = DateRange.resolve(null, LocalDate.of(2025, 3, 15), null, null);
+
+        assertEquals(LocalDateTime.of(2025, 3, 15, 0, 0), fromOnly.getStart());
+        assertEquals(LocalDateTime.of(2025, 12, 31, 23, 59, 59), fromOnly.getEnd());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), toOnly.getStart());
+        assertEquals(LocalDateTime.of(2025, 3, 15, 23, 59, 59), toOnly.getEnd());
+    }
+
+    @Test
+    public void testResolve_RejectsInvalidParameters() {
+        assertThrows(ExpenseException.InvalidExpenseDataException.class,
+                () -> DateRange.resolve(LocalDate.of(2025, 5, 2), LocalDate.of(2025, 5, 1), null, null));
+        assertThrows(ExpenseException.InvalidExpenseDataException.class,
+                () -> DateRange.resolve(LocalDate.of(2025, 5, 1), null, 2025, null));
+        assertThrows(ExpenseException.InvalidExpenseDataException.class,
+                () -> DateRange.resolve(null, null, 2025, 13));
+    }
+
+    @Test
+    public void testToEtagScope_NamesBothBounds() {
+        assertEquals("20250101-20251231", DateRange.ofYear(2025).toEtagScope());
+        assertEquals("20240201-20240229", DateRange.ofMonth(2024, 2).toEtagScope());
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.rafaelmelo23.expense_tracker.dto.expense;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.rafaelmelo23.expense_tracker.config.JacksonConfig;
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The hand-written serializers must produce exactly what the reflective bean serializer
+ * did, so the API payloads don't change.
+ */
+public class ExpenseJsonSerializerTest {
+
+    private final ObjectMapper reflective = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ObjectMapper application = new JacksonConfig().objectMapper();
+
+    @Test
+    public void testExpenseDTO_MatchesBeanSerialization() throws Exception {
+        for (ExpenseDTO dto : List.of(fullExpense(), sparseExpense())) {
+            assertEquals(reflective.writeValueAsString(dto), application.writeValueAsString(dto));
+        }
+    }
+
+    @Test
+    public void testExpenseByMonth_MatchesBeanSerialization() throws Exception {
+        ExpenseByMonthDTO byMonth = new ExpenseByMonthDTO();
+        byMonth.addExpenses(Month.JANUARY, List.of(fullExpense(), sparseExpense()));
+        byMonth.addExpenses(Month.MAY, List.of(fullExpense()));
+
+        assertEquals(reflective.writeValueAsString(byMonth), application.writeValueAsString(byMonth));
+        assertEquals(reflective.writeValueAsString(new ExpenseByMonthDTO()),
+                application.writeValueAsString(new ExpenseByMonthDTO()));
+    }
+
+    @Test
+    public void testWriteExpense_MatchesMappedDTO() throws Exception {
+        Expense recurrent = new Expense();
+        recurrent.setAmount(new BigDecimal("1500.00"));
+        recurrent.setDate(LocalDateTime.of(2025, 1, 5, 8, 0, 0, 1_000));
+        recurrent.setName("Rent");
+        recurrent.setIsRecurrent(true);
+
+        Expense single = new Expense();
+        single.setAmount(new BigDecimal("12.5"));
+        single.setDate(LocalDateTime.of(2025, 3, 1, 9, 30, 15));
+        single.setCategory(ExpenseCategory.FOOD);
+        single.setDescription("Lunch \"out\"");
+        single.setIsRecurrent(false);
+        single.setRecurrenceFrequency(RecurrenceFrequency.WEEKLY);
+
+        for (Expense expense : List.of(recurrent, single)) {
+            StringWriter written = new StringWriter();
+            try (JsonGenerator generator = application.getFactory().createGenerator(written)) {
+                ExpenseJsonSerializer.writeExpense(generator, expense);
+            }
+            assertEquals(reflective.writeValueAsString(ExpenseDTO.toDTO(expense)), written.toString());
+        }
+    }
+
+    private static ExpenseDTO fullExpense() {
+        ExpenseDTO dto = new ExpenseDTO();
+        dto.setExpenseDate(LocalDateTime.of(2025, 5, 10, 14, 45, 30, 500_000_000));
+        dto.setIsRecurrent(true);
+        dto.setExpenseAmount(new BigDecimal("300.00"));
+        dto.setExpenseName("Groceries");
+        dto.setExpenseCategory(ExpenseCategory.FOOD);
+        dto.setDescription("Weekly grocery shopping");
+        dto.setRecurrenceFrequency(RecurrenceFrequency.WEEKLY);
+        return dto;
+    }
+
+    private static ExpenseDTO sparseExpense() {
+        ExpenseDTO dto = new ExpenseDTO();
+        dto.setExpenseDate(LocalDateTime.of(2025, 1, 1, 0, 0));
+        dto.setExpenseAmount(new BigDecimal("1E+3"));
+        return dto;
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.rafaelmelo23.expense_tracker.model.dao;
+
+import com.github.rafaelmelo23.expense_tracker.config.SqlStatementCapture;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the results of {@link ExpenseDAO#findRelevantExpenses} against the seed data, and
+ * that the read paths never touch {@code local_user}. Index usage is covered by
+ * {@link ExpenseIndexPlanTest}, against the schema Hibernate generates.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.github.rafaelmelo23.expense_tracker.config.SqlStatementCapture")
+@ActiveProfiles("test")
+@Transactional
+public class ExpenseDAOTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 12, 31, 23, 59);
+
+    @Autowired
+    private ExpenseDAO expenseDAO;
+
+    @Autowired
+    private UserAdditionsLogDAO userAdditionsLogDAO;
+
+    @BeforeEach
+    public void setUp() {
+        SqlStatementCapture.clear();
+    }
+
+    @Test
+    public void testFindRelevantExpenses_ReturnsBothBranches() {
+        List<ExpenseRow> expenses = expenseDAO.findRelevantExpenses(1001L, START, END);
+
+        assertEquals(2, expenses.size());
+        assertTrue(expenses.stream().anyMatch(e -> e.getName().equals("Groceries") && !e.getRecurrent()));
+        assertTrue(expenses.stream().anyMatch(e -> e.getName().equals("Rent") && e.getRecurrent()));
+    }
+
+    @Test
+    public void testFindRelevantExpenses_NeverReadsTheOwningUser() {
+        expenseDAO.findRelevantExpenses(1001L, START, END);
+
+        assertStatementsSkipLocalUser();
+    }
+
+    @Test
+    public void testListingQueries_SplitTheBranchesWithoutReadingTheOwningUser() {
+        List<ExpenseRow> recurrent = expenseDAO.findRecurrentExpenseRows(1001L, END);
+        List<ExpenseRow> firstPage = expenseDAO.findNonRecurrentExpensesFirstPage(1001L, START, END, Limit.of(10));
+        List<ExpenseRow> streamed;
+        try (Stream<ExpenseRow> rows = expenseDAO.streamNonRecurrentExpenses(1001L, START, END)) {
+            streamed = rows.toList();
+        }
+
+        assertEquals(List.of(1002L), recurrent.stream().map(ExpenseRow::getId).toList());
+        assertEquals(List.of(1001L), firstPage.stream().map(ExpenseRow::getId).toList());
+        assertEquals(firstPage, streamed);
+        assertTrue(expenseDAO.findNonRecurrentExpensesPageAfter(1001L, START, END,
+                firstPage.get(0).getDate(), firstPage.get(0).getId(), Limit.of(10)).isEmpty());
+        assertStatementsSkipLocalUser();
+    }
+
+    @Test
+    public void testFindAdditions_NeverReadsTheOwningUser() {
+        List<UserAdditionsDTO> additions = userAdditionsLogDAO.findByCreatedAtBetweenAndUserId(START, END, 1001L);
+
+        assertEquals(1, additions.size());
+        assertStatementsSkipLocalUser();
+    }
+
+    private static void assertStatementsSkipLocalUser() {
+        List<String> statements = SqlStatementCapture.getStatements();
+
+        assertFalse(statements.isEmpty());
+        statements.forEach(sql -> assertFalse(sql.toLowerCase(Locale.ROOT).contains("local_user"), sql));
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.rafaelmelo23.expense_tracker.model.dao;
+
+import com.github.rafaelmelo23.expense_tracker.config.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the indexes declared on the entities and that H2 plans both branches of
+ * {@link ExpenseDAO#findRelevantExpenses} on the composite expense index. Runs on its own
+ * database without {@code data.sql}, whose hand-written tables would replace the ones
+ * Hibernate generates, so a wrong {@code @Index} mapping fails here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hibernate-schema;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=TRUE",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.github.rafaelmelo23.expense_tracker.config.SqlStatementCapture"})
+@ActiveProfiles("test")
+@Transactional
+public class ExpenseIndexPlanTest {
+
+    private static final String EXPENSE_INDEX = "IDX_EXPENSE_USER_RECURRENT_DATE";
+    private static final String SALARY_DATE_INDEX = "IDX_USER_ACCOUNTING_SALARY_DATE_USER";
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 12, 31, 23, 59);
+
+    @Autowired
+    private ExpenseDAO expenseDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        SqlStatementCapture.clear();
+    }
+
+    @Test
+    public void testEntityIndexes_CoverTheirDeclaredColumnsInOrder() {
+        assertEquals(List.of("USER_ID", "IS_RECURRENT", "DATE"), indexColumns(EXPENSE_INDEX));
+        assertEquals(List.of("SALARY_DATE", "LOCAL_USER_ID"), indexColumns(SALARY_DATE_INDEX));
+    }
+
+    @Test
+    public void testFindRelevantExpenses_PlansEachBranchOnCompositeIndex() {
+        expenseDAO.findRelevantExpenses(1001L, START, END);
+
+        String sql = SqlStatementCapture.getStatements().stream()
+                .filter(statement -> statement.toLowerCase(Locale.ROOT).contains("union all"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("findRelevantExpenses did not issue a UNION ALL query"));
+        assertFalse(sql.toLowerCase(Locale.ROOT).contains(" or "));
+
+        // Parameters in the order they appear in the two branches of the query
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, 1001L, START, END, 1001L, END);
+
+        assertNotNull(plan);
+        assertEquals(2, occurrences(plan.toUpperCase(Locale.ROOT), EXPENSE_INDEX), plan);
+    }
+
+    private List<String> indexColumns(String indexName) {
+        return jdbcTemplate.queryForList(
+                "SELECT UPPER(COLUMN_NAME) FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                        "WHERE UPPER(INDEX_NAME) = ? ORDER BY ORDINAL_POSITION",
+                String.class, indexName);
+    }
+
+    private static int occurrences(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+}
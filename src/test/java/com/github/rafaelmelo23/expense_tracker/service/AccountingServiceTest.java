@@ -1,12 +1,17 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
+import com.github.rafaelmelo23.expense_tracker.dto.expense.AccountingSnapshot;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.UserAdditionsDTO;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
 import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.UserAccounting;
 import com.github.rafaelmelo23.expense_tracker.model.UserAdditionsLog;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.UserAdditionsLogDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -19,7 +24,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.math.BigDecimal;
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +45,18 @@ public class AccountingServiceTest {
     @Mock
     private UserAccountingDAO userAccountingDAO;
 
+    @Mock
+    private BalanceJournalDAO balanceJournalDAO;
+
+    @Mock
+    private AccountingSnapshotCache accountingSnapshotCache;
+
+    @Mock
+    private UserDataVersionService userDataVersionService;
+
+    @Mock
+    private RealtimeEventPublisher realtimeEventPublisher;
+
     private LocalUser testUser;
     private UserAccounting testUserAccounting;
 
@@ -78,20 +94,9 @@ public class AccountingServiceTest {
         LocalDateTime startOfYear = LocalDateTime.of(year, 1, 1, 0, 0);
         LocalDateTime endOfYear = LocalDateTime.of(year, 12, 31, 23, 59);
 
-        List<UserAdditionsLog> additionsLogList = new ArrayList<>();
-        UserAdditionsLog log1 = new UserAdditionsLog();
-        log1.setAmount(new BigDecimal("100.00"));
-        log1.setDescription("Addition 1");
-        log1.setCreatedAt(LocalDateTime.of(year, 2, 1, 12, 0));
-        log1.setUser(testUser);
-        additionsLogList.add(log1);
-
-        UserAdditionsLog log2 = new UserAdditionsLog();
-        log2.setAmount(new BigDecimal("200.00"));
-        log2.setDescription("Addition 2");
-        log2.setCreatedAt(LocalDateTime.of(year, 5, 1, 12, 0));
-        log2.setUser(testUser);
-        additionsLogList.add(log2);
+        List<UserAdditionsDTO> additionsLogList = List.of(
+                new UserAdditionsDTO(new BigDecimal("100.00"), "Addition 1", LocalDateTime.of(year, 2, 1, 12, 0)),
+                new UserAdditionsDTO(new BigDecimal("200.00"), "Addition 2", LocalDateTime.of(year, 5, 1, 12, 0)));
 
         when(userAdditionsLogDAO.findByCreatedAtBetweenAndUserId(startOfYear, endOfYear, testUser.getId())).thenReturn(additionsLogList);
 
@@ -120,9 +125,15 @@ public class AccountingServiceTest {
         assertEquals(new BigDecimal("3500.00"), newBalance);
 
         verify(userService, times(1)).getAuthenticatedUser();
-        verify(userAccountingDAO, times(1)).addToBalance(dto.getAmount(), testUser.getId());
+        verify(balanceJournalDAO, times(1)).save(argThat((BalanceJournalEntry entry) ->
+                entry.getUserId().equals(testUser.getId()) && entry.getAmount().equals(dto.getAmount())));
+        verify(userAccountingDAO, never()).addToBalance(any(), anyLong());
         verify(userAdditionsLogDAO, times(1)).save(any(UserAdditionsLog.class));
+        verify(accountingSnapshotCache, times(1)).evict(testUser.getId());
+        verify(userDataVersionService, times(1)).bump(testUser.getId());
         verify(userAccountingDAO, times(1)).findCurrentBalanceByUser_Id(testUser.getId());
+        verify(realtimeEventPublisher, times(1)).balanceChanged(eq(testUser.getId()), argThat(event ->
+                event.getSource() == BalanceEntrySource.ADDITION && event.getDelta().equals(dto.getAmount())));
     }
 
     @Test
@@ -136,61 +147,70 @@ public class AccountingServiceTest {
         assertThrows(AccessDeniedException.class, () -> accountingService.addToBalance(dto));
 
         verify(userService, times(1)).getAuthenticatedUser();
-        verify(userAccountingDAO, never()).addToBalance(any(), anyLong());
+        verify(balanceJournalDAO, never()).save(any());
         verify(userAdditionsLogDAO, never()).save(any(UserAdditionsLog.class));
+        verify(accountingSnapshotCache, never()).evict(anyLong());
+        verify(userDataVersionService, never()).bump(anyLong());
         verify(userAccountingDAO, never()).findCurrentBalanceByUser_Id(anyLong());
     }
 
     @Test
     public void testGetBalance() {
-        when(userAccountingDAO.findCurrentBalanceByUser_Id(testUser.getId())).thenReturn(new BigDecimal("3000.00"));
+        stubSnapshot("3000.00", "5000.00");
 
         BigDecimal balance = accountingService.getBalance();
 
         assertEquals(new BigDecimal("3000.00"), balance);
 
         verify(userService, times(1)).getAuthenticatedUser();
-        verify(userAccountingDAO, times(1)).findCurrentBalanceByUser_Id(testUser.getId());
+        verify(accountingSnapshotCache, times(1)).find(testUser.getId());
+        verifyNoInteractions(userAccountingDAO);
     }
 
     @Test
     public void testGetSalary() {
-        when(userAccountingDAO.findSalaryByUser_Id(testUser.getId())).thenReturn(new BigDecimal("5000.00"));
+        stubSnapshot("3000.00", "5000.00");
 
         BigDecimal salary = accountingService.getSalary();
 
         assertEquals(new BigDecimal("5000.00"), salary);
 
         verify(userService, times(1)).getAuthenticatedUser();
-        verify(userAccountingDAO, times(1)).findSalaryByUser_Id(testUser.getId());
+        verify(accountingSnapshotCache, times(1)).find(testUser.getId());
+        verifyNoInteractions(userAccountingDAO);
     }
 
     @Test
     public void testGetMonthlySpentPercent() {
-        when(userAccountingDAO.findSalaryByUser_Id(testUser.getId())).thenReturn(new BigDecimal("5000.00"));
-        when(userAccountingDAO.findCurrentBalanceByUser_Id(testUser.getId())).thenReturn(new BigDecimal("1000.00"));
+        stubSnapshot("1000.00", "5000.00");
 
         BigDecimal spentPercent = accountingService.getMonthlySpentPercent();
 
         assertEquals(new BigDecimal("0.80"), spentPercent); // (5000 - 1000) / 5000 = 0.8
 
         verify(userService, times(1)).getAuthenticatedUser();
-        verify(userAccountingDAO, times(1)).findSalaryByUser_Id(testUser.getId());
-        verify(userAccountingDAO, times(1)).findCurrentBalanceByUser_Id(testUser.getId());
+        verify(accountingSnapshotCache, times(1)).find(testUser.getId());
+        verifyNoInteractions(userAccountingDAO);
     }
 
     @Test
     public void testGetMonthlySpentPercent_ZeroSalary() {
-        when(userAccountingDAO.findSalaryByUser_Id(testUser.getId())).thenReturn(BigDecimal.ZERO);
-        when(userAccountingDAO.findCurrentBalanceByUser_Id(testUser.getId())).thenReturn(new BigDecimal("1000.00"));
+        stubSnapshot("1000.00", "0");
 
         BigDecimal spentPercent = accountingService.getMonthlySpentPercent();
 
         assertEquals(BigDecimal.ZERO, spentPercent);
 
         verify(userService, times(1)).getAuthenticatedUser();
-        verify(userAccountingDAO, times(1)).findSalaryByUser_Id(testUser.getId());
-        verify(userAccountingDAO, times(1)).findCurrentBalanceByUser_Id(testUser.getId());
+        verify(accountingSnapshotCache, times(1)).find(testUser.getId());
+    }
+
+    @Test
+    public void testGetMonthlySpentPercent_NoAccounting() {
+        when(accountingSnapshotCache.find(testUser.getId())).thenReturn(Optional.empty());
+
+        assertThrows(ExpenseException.UserAccountingNotFoundException.class,
+                () -> accountingService.getMonthlySpentPercent());
     }
 
     @Test
@@ -201,6 +221,7 @@ public class AccountingServiceTest {
 
         verify(userService, times(1)).getAuthenticatedUser();
         verify(userAccountingDAO, times(1)).updateUserSalary(newSalary, testUser.getId());
+        verify(accountingSnapshotCache, times(1)).updateSalary(testUser.getId(), newSalary);
     }
 
     @Test
@@ -222,6 +243,7 @@ public class AccountingServiceTest {
 
         verify(userService, times(1)).getAuthenticatedUser();
         verify(userAccountingDAO, times(1)).updateUserSalaryDate(newSalaryDate, testUser.getId());
+        verify(accountingSnapshotCache, times(1)).updateSalaryDate(testUser.getId(), 15);
     }
 
     @Test
@@ -234,4 +256,9 @@ public class AccountingServiceTest {
         verify(userService, times(1)).getAuthenticatedUser();
         verify(userAccountingDAO, never()).updateUserSalaryDate(any(), anyLong());
     }
+
+    private void stubSnapshot(String currentBalance, String monthlySalary) {
+        when(accountingSnapshotCache.find(testUser.getId())).thenReturn(Optional.of(
+                new AccountingSnapshot(new BigDecimal(currentBalance), new BigDecimal(monthlySalary), 10)));
+    }
 }
@@ -0,0 +1,102 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.AccountingSnapshot;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.AccountingSnapshotInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AccountingSnapshotCacheTest {
+
+    @Mock
+    private UserAccountingDAO userAccountingDAO;
+
+    private MeterRegistry meterRegistry;
+    private AccountingSnapshotCache accountingSnapshotCache;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        meterRegistry = new SimpleMeterRegistry();
+        accountingSnapshotCache = new AccountingSnapshotCache(userAccountingDAO, meterRegistry, 100, 60);
+
+        AccountingSnapshotInfo info = mock(AccountingSnapshotInfo.class);
+        when(info.getCurrentBalance()).thenReturn(new BigDecimal("3000.00"));
+        when(info.getMonthlySalary()).thenReturn(new BigDecimal("5000.00"));
+        when(info.getSalaryDate()).thenReturn(10);
+        when(userAccountingDAO.findSnapshotByUser_Id(1L)).thenReturn(Optional.of(info));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testFind_LoadsOnceThenServesFromCache() {
+        AccountingSnapshot first = accountingSnapshotCache.find(1L).orElseThrow();
+        AccountingSnapshot second = accountingSnapshotCache.find(1L).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(new BigDecimal("3000.00"), first.getCurrentBalance());
+        assertEquals(10, first.getSalaryDate());
+        verify(userAccountingDAO, times(1)).findSnapshotByUser_Id(1L);
+        assertEquals(0.5, meterRegistry.get("accounting.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    public void testUpdateSalary_WritesThroughWithoutReload() {
+        accountingSnapshotCache.find(1L);
+
+        accountingSnapshotCache.updateSalary(1L, new BigDecimal("6000.00"));
+        accountingSnapshotCache.updateSalaryDate(1L, 15);
+        AccountingSnapshot snapshot = accountingSnapshotCache.find(1L).orElseThrow();
+
+        assertEquals(new BigDecimal("6000.00"), snapshot.getMonthlySalary());
+        assertEquals(15, snapshot.getSalaryDate());
+        assertEquals(new BigDecimal("3000.00"), snapshot.getCurrentBalance());
+        verify(userAccountingDAO, times(1)).findSnapshotByUser_Id(1L);
+    }
+
+    @Test
+    public void testEvict_InsideTransactionWaitsForCommit() {
+        accountingSnapshotCache.find(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        accountingSnapshotCache.evict(1L);
+        accountingSnapshotCache.find(1L);
+        verify(userAccountingDAO, times(1)).findSnapshotByUser_Id(1L);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        accountingSnapshotCache.find(1L);
+        verify(userAccountingDAO, times(2)).findSnapshotByUser_Id(1L);
+    }
+
+    @Test
+    public void testFind_UserWithoutAccountingIsNotCached() {
+        when(userAccountingDAO.findSnapshotByUser_Id(2L)).thenReturn(Optional.empty());
+
+        assertTrue(accountingSnapshotCache.find(2L).isEmpty());
+        assertTrue(accountingSnapshotCache.find(2L).isEmpty());
+
+        verify(userAccountingDAO, times(2)).findSnapshotByUser_Id(2L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BalanceJournalCompactorTest {
+
+    @Mock
+    private BalanceJournalDAO balanceJournalDAO;
+
+    @Mock
+    private UserAccountingDAO userAccountingDAO;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private BalanceJournalCompactor compactor;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(userAccountingDAO.addToBalance(any(), anyLong())).thenReturn(1);
+
+        meterRegistry = new SimpleMeterRegistry();
+        compactor = new BalanceJournalCompactor(balanceJournalDAO, userAccountingDAO, transactionManager,
+                meterRegistry, 3, 10);
+    }
+
+    @Test
+    public void testCompact_FoldsPerUserSumsAndDeletesExactlyThoseEntries() {
+        when(balanceJournalDAO.findOldest(any(Limit.class)))
+                .thenReturn(List.of(entry(1L, 7L, "-10.00"), entry(2L, 5L, "3.00"), entry(3L, 7L, "-2.50")))
+                .thenReturn(List.of(entry(4L, 5L, "1.00")));
+        when(balanceJournalDAO.deleteByIds(anyCollection()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        long compacted = compactor.compact();
+
+        assertEquals(4, compacted);
+        verify(balanceJournalDAO).deleteByIds(List.of(2L));
+        verify(balanceJournalDAO).deleteByIds(List.of(1L, 3L));
+        verify(userAccountingDAO).addToBalance(new BigDecimal("3.00"), 5L);
+        verify(userAccountingDAO).addToBalance(new BigDecimal("-12.50"), 7L);
+        verify(userAccountingDAO).addToBalance(new BigDecimal("1.00"), 5L);
+        assertEquals(4, meterRegistry.get("balance.journal.compacted").counter().count());
+    }
+
+    @Test
+    public void testCompact_RollsBackWhenTheAccountingRowIsMissing() {
+        when(balanceJournalDAO.findOldest(any(Limit.class)))
+                .thenReturn(List.of(entry(1L, 5L, "-10.00")));
+        when(balanceJournalDAO.deleteByIds(anyCollection())).thenReturn(1);
+        when(userAccountingDAO.addToBalance(any(), eq(5L))).thenReturn(0);
+
+        assertThrows(IncorrectUpdateSemanticsDataAccessException.class, () -> compactor.compact());
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    public void testCompact_RollsBackWhenEntriesWereRemovedConcurrently() {
+        when(balanceJournalDAO.findOldest(any(Limit.class)))
+                .thenReturn(List.of(entry(1L, 5L, "-10.00"), entry(2L, 7L, "-1.00")));
+        when(balanceJournalDAO.deleteByIds(List.of(1L))).thenReturn(1);
+        when(balanceJournalDAO.deleteByIds(List.of(2L))).thenReturn(0);
+
+        long compacted = compactor.compact();
+
+        assertEquals(0, compacted);
+        verify(userAccountingDAO, never()).addToBalance(any(), eq(7L));
+        verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+        assertEquals(1, meterRegistry.get("balance.journal.compaction.retried").counter().count());
+    }
+
+    private static BalanceJournalEntry entry(Long id, Long userId, String amount) {
+        BalanceJournalEntry entry = BalanceJournalEntry.of(userId, new BigDecimal(amount), BalanceEntrySource.EXPENSE);
+        entry.setId(id);
+        return entry;
+    }
+}
@@ -0,0 +1,214 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseImportResultDTO;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
+import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import com.github.rafaelmelo23.expense_tracker.service.export.ExpenseExportFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration test for {@link ExpenseImportService} against the H2 schema, with a small
+ * batch size so imports span several flushes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = {
+        "expense.import.batch-size=3",
+        "expense.import.max-rows=5000",
+        "expense.import.max-reported-errors=2"
+})
+public class ExpenseImportServiceTest {
+
+    private static final long USER_ID = 1001L;
+
+    @Autowired
+    private ExpenseImportService expenseImportService;
+
+    @Autowired
+    private ExpenseExportService expenseExportService;
+
+    @Autowired
+    private UserAccountingDAO userAccountingDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private RealtimeEventPublisher realtimeEventPublisher;
+
+    @BeforeEach
+    public void setUp() {
+        LocalUser user = new LocalUser();
+        user.setId(USER_ID);
+        user.setRole(Role.ROLE_USER);
+        user.setEmail("anakin@example.com");
+        user.setIsFirstLogin(false);
+
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(user);
+        when(auth.isAuthenticated()).thenReturn(true);
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(auth);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testImportCsv_SkipsInvalidRowsAndAdjustsBalanceOnce() {
+        BigDecimal balanceBefore = balance();
+        String csv = """
+                Date,Amount,Name,Category,Description,Recurrent
+                2026-03-01,10.00,Coffee,food,,
+                2026-03-02T08:30:00,20.50,"Bus, monthly",TRANSPORT,"line one
+                line two",yes
+                not-a-date,5.00,Broken,FOOD,,
+                2026-03-04,-1.00,Negative,FOOD,,
+                2026-03-05,abc,NaN,FOOD,,
+
+                2026-03-06,30.00,Books,,"He said \"\"hi\"\"",false
+                """;
+
+        ExpenseImportResultDTO result = expenseImportService.importExpenses(stream(csv), ExpenseImportService.Format.CSV);
+
+        assertEquals(3, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(5, result.getErrors().get(0).getLine());
+        assertEquals(new BigDecimal("60.50"), result.getImportedTotal());
+        assertEquals(balanceBefore.subtract(new BigDecimal("60.50")), result.getNewBalance());
+        assertEquals(result.getNewBalance(), balance());
+        verify(realtimeEventPublisher).balanceChanged(USER_ID, BalanceEvent.change(BalanceEntrySource.IMPORT,
+                new BigDecimal("-60.50"), result.getNewBalance()));
+
+        assertEquals("line one\nline two", jdbcTemplate.queryForObject(
+                "SELECT description FROM expense WHERE name = 'Bus, monthly'", String.class));
+        assertEquals("He said \"hi\"", jdbcTemplate.queryForObject(
+                "SELECT description FROM expense WHERE name = 'Books'", String.class));
+        assertEquals("OTHER", jdbcTemplate.queryForObject(
+                "SELECT category FROM expense WHERE name = 'Books'", String.class));
+        assertEquals(new BigDecimal("10.00"), jdbcTemplate.queryForObject(
+                "SELECT total FROM expense_monthly_rollup WHERE user_id = ? AND expense_year = 2026 AND expense_month = 3 " +
+                        "AND category = 'FOOD' AND is_recurrent = FALSE", BigDecimal.class, USER_ID));
+    }
+
+    @Test
+    public void testImportJsonLines_ReportsMalformedLines() {
+        String jsonLines = """
+                {"expenseAmount": 12.00, "expenseDate": "2026-04-01T12:00:00", "expenseCategory": "FOOD"}
+                {"expenseAmount": 3.00
+                {"expenseDate": "2026-04-02T12:00:00"}
+                """;
+
+        ExpenseImportResultDTO result = expenseImportService.importExpenses(
+                stream(jsonLines), ExpenseImportService.Format.JSON_LINES);
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(1).getMessage().contains("expenseAmount"));
+    }
+
+    @Test
+    public void testImportJsonLines_RejectsNullLine() {
+        String jsonLines = """
+                null
+                {"expenseAmount": 4.00, "expenseDate": "2026-04-03T12:00:00"}
+                """;
+
+        ExpenseImportResultDTO result = expenseImportService.importExpenses(
+                stream(jsonLines), ExpenseImportService.Format.JSON_LINES);
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(1, result.getErrors().get(0).getLine());
+    }
+
+    @Test
+    public void testImport_ReadsBackItsOwnExports() throws IOException {
+        byte[] csv = export(ExpenseExportFormat.CSV);
+        byte[] jsonLines = export(ExpenseExportFormat.JSON_LINES);
+
+        ExpenseImportResultDTO csvResult = expenseImportService.importExpenses(
+                new ByteArrayInputStream(csv), ExpenseImportService.Format.CSV);
+        ExpenseImportResultDTO jsonLinesResult = expenseImportService.importExpenses(
+                new ByteArrayInputStream(jsonLines), ExpenseImportService.Format.JSON_LINES);
+
+        for (ExpenseImportResultDTO result : List.of(csvResult, jsonLinesResult)) {
+            assertEquals(0, result.getRejected(), String.valueOf(result.getErrors()));
+            assertEquals(2, result.getImported());
+            assertEquals(new BigDecimal("1800.00"), result.getImportedTotal());
+        }
+    }
+
+    @Test
+    public void testImportCsv_ManyRowsAcrossBatches() {
+        StringBuilder csv = new StringBuilder("date,amount,category\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append("2026-05-").append(String.format("%02d", i % 28 + 1)).append(",1.25,FOOD\n");
+        }
+
+        ExpenseImportResultDTO result = expenseImportService.importExpenses(
+                stream(csv.toString()), ExpenseImportService.Format.CSV);
+
+        assertEquals(2000, result.getImported());
+        assertEquals(2000L, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM expense WHERE user_id = ? AND date >= '2026-05-01'", Long.class, USER_ID));
+    }
+
+    @Test
+    public void testImportCsv_MissingRequiredColumn() {
+        assertThrows(ExpenseException.InvalidExpenseDataException.class, () ->
+                expenseImportService.importExpenses(stream("name,amount\nCoffee,1.00\n"), ExpenseImportService.Format.CSV));
+    }
+
+    private byte[] export(ExpenseExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExpenseExportService.ExportSlot slot = expenseExportService.reserveSlot()) {
+            assertEquals(2, expenseExportService.export(USER_ID, DateRange.ofYear(2025), format, false, out));
+        }
+        return out.toByteArray();
+    }
+
+    private BigDecimal balance() {
+        return userAccountingDAO.findCurrentBalanceByUser_Id(USER_ID);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
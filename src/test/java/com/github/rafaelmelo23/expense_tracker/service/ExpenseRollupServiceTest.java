@@ -0,0 +1,99 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.model.Expense;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseMonthlyRollupDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ExpenseRollupServiceTest {
+
+    @InjectMocks
+    private ExpenseRollupService expenseRollupService;
+
+    @Mock
+    private ExpenseMonthlyRollupDAO rollupDAO;
+
+    private LocalUser testUser;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        testUser = new LocalUser();
+        testUser.setId(1L);
+    }
+
+    @Test
+    public void testRecord_GroupsExpensesSharingAKeyIntoOneIncrementAndSkipsRecurrent() {
+        when(rollupDAO.increment(anyLong(), anyInt(), anyInt(), any(), any(), anyLong())).thenReturn(1);
+
+        expenseRollupService.record(List.of(
+                expense("10.00", ExpenseCategory.FOOD, 3, false),
+                expense("15.50", ExpenseCategory.FOOD, 3, false),
+                expense("99.00", ExpenseCategory.FOOD, 3, true)));
+
+        verify(rollupDAO).increment(1L, 2025, 3, ExpenseCategory.FOOD, new BigDecimal("25.50"), 2L);
+        verify(rollupDAO, times(1)).increment(anyLong(), anyInt(), anyInt(), any(), any(), anyLong());
+        verify(rollupDAO, never()).insertEmptyRowIfAbsent(anyLong(), anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    public void testRecord_InsertsMissingRowAndDefaultsCategoryToOther() {
+        when(rollupDAO.increment(anyLong(), anyInt(), anyInt(), any(), any(), anyLong()))
+                .thenReturn(0)
+                .thenReturn(1);
+        when(rollupDAO.insertEmptyRowIfAbsent(anyLong(), anyInt(), anyInt(), anyString())).thenReturn(1);
+
+        expenseRollupService.record(List.of(expense("42.00", null, 7, false)));
+
+        verify(rollupDAO).insertEmptyRowIfAbsent(1L, 2025, 7, "OTHER");
+        verify(rollupDAO, times(2)).increment(1L, 2025, 7, ExpenseCategory.OTHER, new BigDecimal("42.00"), 1L);
+    }
+
+    @Test
+    public void testRecord_IncrementsRowCreatedByConcurrentWriter() {
+        when(rollupDAO.increment(anyLong(), anyInt(), anyInt(), any(), any(), anyLong()))
+                .thenReturn(0)
+                .thenReturn(1);
+        when(rollupDAO.insertEmptyRowIfAbsent(anyLong(), anyInt(), anyInt(), anyString())).thenReturn(0);
+
+        expenseRollupService.record(List.of(expense("42.00", ExpenseCategory.FOOD, 7, false)));
+
+        verify(rollupDAO).insertEmptyRowIfAbsent(1L, 2025, 7, "FOOD");
+        verify(rollupDAO, times(2)).increment(1L, 2025, 7, ExpenseCategory.FOOD, new BigDecimal("42.00"), 1L);
+    }
+
+    @Test
+    public void testRebuildIfEmpty_OnlyRebuildsEmptyRollup() {
+        when(rollupDAO.count()).thenReturn(3L);
+        expenseRollupService.rebuildIfEmpty();
+        verify(rollupDAO, never()).deleteAllRows();
+
+        when(rollupDAO.count()).thenReturn(0L);
+        expenseRollupService.rebuildIfEmpty();
+        verify(rollupDAO).deleteAllRows();
+        verify(rollupDAO).rebuildFromExpenses();
+    }
+
+    private Expense expense(String amount, ExpenseCategory category, int month, boolean recurrent) {
+        Expense expense = new Expense();
+        expense.setUser(testUser);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCategory(category);
+        expense.setDate(LocalDateTime.of(2025, month, 10, 12, 0));
+        expense.setIsRecurrent(recurrent);
+        return expense;
+    }
+}
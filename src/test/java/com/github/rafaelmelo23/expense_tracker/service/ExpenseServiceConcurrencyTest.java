@@ -0,0 +1,129 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fires many concurrent expense posts for one user against the H2 schema and checks that
+ * every debit reaches the balance. Runs outside a test transaction so each post commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExpenseServiceConcurrencyTest {
+
+    private static final long USER_ID = 3101L;
+    private static final int THREADS = 8;
+    private static final int POSTS = 2000;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private BalanceJournalCompactor balanceJournalCompactor;
+
+    @Autowired
+    private UserAccountingDAO userAccountingDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO local_user (id, first_name, last_name, email, password, role, is_first_login) " +
+                "VALUES (?, 'Race', 'Condition', 'race@example.com', 'x', 'ROLE_USER', FALSE)", USER_ID);
+        jdbcTemplate.update("INSERT INTO user_accounting (id, salary_date, monthly_salary, current_balance, local_user_id) " +
+                "VALUES (?, 1, 1000.00, 10000.00, ?)", USER_ID, USER_ID);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM balance_journal WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM expense_monthly_rollup WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM expense WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM user_accounting WHERE local_user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM local_user WHERE id = ?", USER_ID);
+    }
+
+    @Test
+    public void testPersistExpense_ConcurrentPostsLoseNoDebit() throws Exception {
+        LocalUser user = new LocalUser();
+        user.setId(USER_ID);
+        user.setEmail("race@example.com");
+        user.setRole(Role.ROLE_USER);
+        user.setIsFirstLogin(false);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BigDecimal>> results = new ArrayList<>(POSTS);
+        try {
+            for (int i = 0; i < POSTS; i++) {
+                results.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(user, null, List.of()));
+                    try {
+                        start.await();
+                        return expenseService.persistExpense(expense());
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            start.countDown();
+
+            for (Future<BigDecimal> result : results) {
+                result.get();
+            }
+
+            assertEquals(new BigDecimal("8000.00"), userAccountingDAO.findCurrentBalanceByUser_Id(USER_ID));
+            assertEquals(POSTS, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM expense WHERE user_id = ?", Integer.class, USER_ID));
+
+            // The scheduled compactor may be folding the same entries, which rolls this run back
+            for (int attempt = 0; attempt < 10 && pendingEntries() > 0; attempt++) {
+                balanceJournalCompactor.compact();
+            }
+
+            assertEquals(0, pendingEntries());
+            assertEquals(new BigDecimal("8000.00"), jdbcTemplate.queryForObject(
+                    "SELECT current_balance FROM user_accounting WHERE local_user_id = ?", BigDecimal.class, USER_ID));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int pendingEntries() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balance_journal WHERE user_id = ?", Integer.class, USER_ID);
+    }
+
+    private static ExpenseDTO expense() {
+        ExpenseDTO dto = new ExpenseDTO();
+        dto.setExpenseAmount(new BigDecimal("1.00"));
+        dto.setExpenseCategory(ExpenseCategory.FOOD);
+        dto.setExpenseDate(LocalDateTime.of(2025, 6, 1, 12, 0));
+        dto.setIsRecurrent(false);
+        return dto;
+    }
+}
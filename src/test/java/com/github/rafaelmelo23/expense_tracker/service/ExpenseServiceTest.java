@@ -3,16 +3,23 @@ package com.github.rafaelmelo23.expense_tracker.service;
 import com.github.rafaelmelo23.expense_tracker.dto.auth.FirstRegistryDTO;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseByMonthDTO;
 import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseDTO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseRow;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseSummaryDTO;
 import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
 import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.BalanceJournalEntry;
 import com.github.rafaelmelo23.expense_tracker.model.Expense;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.UserAccounting;
+import com.github.rafaelmelo23.expense_tracker.model.dao.BalanceJournalDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.ExpenseDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.LocalUserDAO;
 import com.github.rafaelmelo23.expense_tracker.model.dao.UserAccountingDAO;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.DateRange;
 import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
-import com.github.rafaelmelo23.expense_tracker.model.interfaces.UserSalaryInfo;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.MonthlyCategoryTotal;
+import com.github.rafaelmelo23.expense_tracker.model.interfaces.RecurrenceRule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -60,6 +67,27 @@ public class ExpenseServiceTest {
     @Mock
     private LocalUserDAO localUserDAO;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private SalaryBatchService salaryBatchService;
+
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+
+    @Mock
+    private BalanceJournalDAO balanceJournalDAO;
+
+    @Mock
+    private AccountingSnapshotCache accountingSnapshotCache;
+
+    @Mock
+    private UserDataVersionService userDataVersionService;
+
+    @Mock
+    private RealtimeEventPublisher realtimeEventPublisher;
+
     private LocalUser testUser;
     private UserAccounting testUserAccounting;
     private ExpenseDTO testExpenseDTO;
@@ -103,6 +131,7 @@ public class ExpenseServiceTest {
 
         when(userService.getAuthenticatedUser()).thenReturn(testUser);
         when(userAccountingDAO.findByUser_Id(anyLong())).thenReturn(Optional.ofNullable(testUserAccounting));
+        when(userAccountingDAO.findCurrentBalanceByUser_Id(anyLong())).thenReturn(new BigDecimal("2900.00"));
     }
 
     private void setupSecurityContext() {
@@ -128,8 +157,10 @@ public class ExpenseServiceTest {
 
 
         verify(localUserDAO).setUserFirstLoginToFalse(testUser.getId());
+        verify(principalCache).evict(testUser.getEmail());
         verify(userAccountingDAO).save(any(UserAccounting.class));
         verify(expenseDAO).saveAll(anyList());
+        verify(expenseRollupService).record(anyList());
     }
 
     @Test
@@ -180,7 +211,16 @@ public class ExpenseServiceTest {
 
         assertEquals(expectedNewBalance, actualNewBalance);
         verify(expenseDAO).save(any(Expense.class));
-        verify(userAccountingDAO).save(any(UserAccounting.class));
+        verify(balanceJournalDAO).save(argThat((BalanceJournalEntry entry) ->
+                entry.getUserId().equals(1L) && entry.getAmount().equals(new BigDecimal("-100.00"))));
+        verify(userAccountingDAO, never()).addToBalance(any(), anyLong());
+        verify(accountingSnapshotCache).evict(1L);
+        verify(userDataVersionService).bump(1L);
+        verify(userAccountingDAO, never()).save(any(UserAccounting.class));
+        verify(expenseRollupService).record(anyList());
+        verify(realtimeEventPublisher).expenseCreated(eq(1L), any(ExpenseDTO.class));
+        verify(realtimeEventPublisher).balanceChanged(eq(1L), argThat(event ->
+                event.getDelta().equals(new BigDecimal("-100.00")) && event.getBalance().equals(expectedNewBalance)));
     }
 
     @Test
@@ -193,19 +233,18 @@ public class ExpenseServiceTest {
         });
 
         verifyNoInteractions(expenseDAO);
+        verifyNoInteractions(realtimeEventPublisher);
         verify(userAccountingDAO, never()).save(any(UserAccounting.class));
     }
 
     @Test
     public void testPersistExpense_UserAccountingNotFound() {
 
-        when(userAccountingDAO.findByUser_Id(anyLong())).thenReturn(Optional.empty());
+        when(userAccountingDAO.findCurrentBalanceByUser_Id(anyLong())).thenReturn(null);
 
         assertThrows(ExpenseException.UserAccountingNotFoundException.class, () -> {
             expenseService.persistExpense(testExpenseDTO);
         });
-
-        verifyNoInteractions(expenseDAO);
     }
 
     @Test
@@ -243,23 +282,13 @@ public class ExpenseServiceTest {
     @Test
     public void testGetAllExpenses_Success() {
 
-        Expense expense1 = new Expense();
-        expense1.setId(1L);
-        expense1.setUser(testUser);
-        expense1.setName("Expense 1");
-        expense1.setAmount(new BigDecimal("100.00"));
-        expense1.setDate(LocalDateTime.now());
-        expense1.setCategory(ExpenseCategory.FOOD);
+        ExpenseRow expense1 = new ExpenseRow(1L, LocalDateTime.now(), new BigDecimal("100.00"), "Expense 1",
+                ExpenseCategory.FOOD, null, false, null);
 
-        Expense expense2 = new Expense();
-        expense2.setId(2L);
-        expense2.setUser(testUser);
-        expense2.setName("Expense 2");
-        expense2.setAmount(new BigDecimal("200.00"));
-        expense2.setDate(LocalDateTime.now());
-        expense2.setCategory(ExpenseCategory.TRANSPORT);
+        ExpenseRow expense2 = new ExpenseRow(2L, LocalDateTime.now(), new BigDecimal("200.00"), "Expense 2",
+                ExpenseCategory.TRANSPORT, null, false, null);
 
-        List<Expense> expenses = Arrays.asList(expense1, expense2);
+        List<ExpenseRow> expenses = Arrays.asList(expense1, expense2);
 
         when(expenseDAO.findRelevantExpenses(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(expenses);
@@ -274,6 +303,30 @@ public class ExpenseServiceTest {
         assertEquals("Expense 2", result.get(1).getExpenseName());
     }
 
+    @Test
+    public void testGetAllExpenses_ExpandsRecurrentExpensesWithinRange() {
+
+        ExpenseRow rent = new ExpenseRow(3L, LocalDateTime.of(2024, 1, 31, 10, 0), new BigDecimal("1500.00"), "Rent",
+                null, null, true, null);
+
+        ExpenseRow groceries = new ExpenseRow(4L, LocalDateTime.of(2025, 2, 1, 9, 0), new BigDecimal("300.00"), "Groceries",
+                null, null, false, null);
+
+        when(expenseDAO.findRelevantExpenses(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(rent, groceries));
+
+
+        List<ExpenseDTO> result = expenseService.getAllExpenses(DateRange.resolve(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), null, null));
+
+        assertEquals(4, result.size());
+        assertEquals(LocalDateTime.of(2025, 1, 31, 10, 0), result.get(0).getExpenseDate());
+        assertEquals("Groceries", result.get(1).getExpenseName());
+        assertEquals(LocalDateTime.of(2025, 2, 28, 10, 0), result.get(2).getExpenseDate());
+        assertEquals(LocalDateTime.of(2025, 3, 31, 10, 0), result.get(3).getExpenseDate());
+        assertEquals(RecurrenceFrequency.MONTHLY, result.get(3).getRecurrenceFrequency());
+    }
+
     @Test
     public void testGetAllExpenses_UserNotAuthenticated() {
 
@@ -303,21 +356,13 @@ public class ExpenseServiceTest {
     @Test
     public void testGetYearlyExpensesByMonth_Success() {
 
-        Expense januaryExpense = new Expense();
-        januaryExpense.setId(1L);
-        januaryExpense.setUser(testUser);
-        januaryExpense.setName("January Expense");
-        januaryExpense.setAmount(new BigDecimal("100.00"));
-        januaryExpense.setDate(LocalDateTime.of(LocalDate.now().getYear(), 1, 15, 0, 0));
+        ExpenseRow januaryExpense = new ExpenseRow(5L, LocalDateTime.of(LocalDate.now().getYear(), 1, 15, 0, 0),
+                new BigDecimal("100.00"), "January Expense", null, null, false, null);
 
-        Expense februaryExpense = new Expense();
-        februaryExpense.setId(2L);
-        februaryExpense.setUser(testUser);
-        februaryExpense.setName("February Expense");
-        februaryExpense.setAmount(new BigDecimal("200.00"));
-        februaryExpense.setDate(LocalDateTime.of(LocalDate.now().getYear(), 2, 15, 0, 0));
+        ExpenseRow februaryExpense = new ExpenseRow(6L, LocalDateTime.of(LocalDate.now().getYear(), 2, 15, 0, 0),
+                new BigDecimal("200.00"), "February Expense", null, null, false, null);
 
-        List<Expense> expenses = Arrays.asList(januaryExpense, februaryExpense);
+        List<ExpenseRow> expenses = Arrays.asList(januaryExpense, februaryExpense);
 
         when(expenseDAO.findRelevantExpenses(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(expenses);
@@ -349,45 +394,88 @@ public class ExpenseServiceTest {
     }
 
     @Test
-    public void testCalculateMonthlySalaryMinusRecurrentExpenses() {
+    public void testGetYearlyExpenseSummary_Success() {
 
-        List<BigDecimal> recurrentExpenses = new ArrayList<>(Arrays.asList(
-                new BigDecimal("100.00"),
-                new BigDecimal("200.00"),
-                new BigDecimal("300.00")
-        ));
+        List<MonthlyCategoryTotal> rows = Arrays.asList(
+                summaryRow(1, ExpenseCategory.FOOD, "150.00", 3L),
+                summaryRow(1, ExpenseCategory.OTHER, "25.00", 2L),
+                summaryRow(2, ExpenseCategory.HOUSING, "1500.00", 1L));
 
-        Mockito.doReturn(recurrentExpenses).when(expenseDAO).findRecurrentExpensesByUser(Mockito.anyLong());
+        when(expenseRollupService.getYearSummary(testUser.getId(), LocalDate.now().getYear())).thenReturn(rows);
 
-        Mockito.doNothing().when(expenseDAO).monthlyBalanceUpdate(Mockito.anyLong(), Mockito.any(BigDecimal.class));
 
-        expenseService.calculateMonthlySalaryMinusRecurrentExpenses(1L, new BigDecimal("1000.00"));
+        ExpenseSummaryDTO result = expenseService.getYearlyExpenseSummary();
 
-        Mockito.verify(expenseDAO).monthlyBalanceUpdate(Mockito.eq(1L), Mockito.eq(new BigDecimal("400.00")));
+        assertEquals(2, result.getMonthlyTotals().size());
+        assertEquals(new BigDecimal("150.00"), result.getMonthlyTotals().get(Month.JANUARY).get(ExpenseCategory.FOOD));
+        assertEquals(new BigDecimal("25.00"), result.getMonthlyTotals().get(Month.JANUARY).get(ExpenseCategory.OTHER));
+        assertEquals(2L, result.getMonthlyCounts().get(Month.JANUARY).get(ExpenseCategory.OTHER));
+        assertEquals(new BigDecimal("1500.00"), result.getMonthlyTotals().get(Month.FEBRUARY).get(ExpenseCategory.HOUSING));
+        verify(expenseDAO).findRecurrenceRules(eq(testUser.getId()), any(LocalDateTime.class));
+        verify(expenseDAO, never()).findRelevantExpenses(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
-    public void testCreditMonthlySalaryMinusRecurrentExpenses() {
+    public void testGetYearlyExpenseSummary_ExpandsRecurrenceRules() {
+
+        RecurrenceRule rent = mock(RecurrenceRule.class);
+        when(rent.getAnchor()).thenReturn(LocalDateTime.of(2024, 11, 10, 0, 0));
+        when(rent.getAmount()).thenReturn(new BigDecimal("1000.00"));
+        when(rent.getCategory()).thenReturn(ExpenseCategory.HOUSING);
+        when(rent.getFrequency()).thenReturn(null);
+
+        RecurrenceRule lunch = mock(RecurrenceRule.class);
+        when(lunch.getAnchor()).thenReturn(LocalDateTime.of(2025, 3, 3, 12, 0));
+        when(lunch.getAmount()).thenReturn(new BigDecimal("10.00"));
+        when(lunch.getCategory()).thenReturn(ExpenseCategory.FOOD);
+        when(lunch.getFrequency()).thenReturn(RecurrenceFrequency.WEEKLY);
+
+        when(expenseRollupService.getYearSummary(testUser.getId(), 2025)).thenReturn(List.of());
+        when(expenseDAO.findRecurrenceRules(eq(testUser.getId()), any(LocalDateTime.class)))
+                .thenReturn(List.of(rent, lunch));
+
+
+        ExpenseSummaryDTO result = expenseService.getYearlyExpenseSummary(2025);
+
+        assertEquals(12, result.getMonthlyTotals().size());
+        assertEquals(new BigDecimal("1000.00"), result.getMonthlyTotals().get(Month.JANUARY).get(ExpenseCategory.HOUSING));
+        assertNull(result.getMonthlyTotals().get(Month.JANUARY).get(ExpenseCategory.FOOD));
+        // Mondays in March 2025 from the 3rd: 3, 10, 17, 24, 31
+        assertEquals(new BigDecimal("50.00"), result.getMonthlyTotals().get(Month.MARCH).get(ExpenseCategory.FOOD));
+        assertEquals(5L, result.getMonthlyCounts().get(Month.MARCH).get(ExpenseCategory.FOOD));
+    }
 
-        int today = LocalDate.now().getDayOfMonth();
+    @Test
+    public void testGetYearlyExpenseSummary_UserNotAuthenticated() {
+
+        when(userService.getAuthenticatedUser()).thenReturn(null);
+
+
+        assertThrows(UserException.UserNotAuthenticatedException.class, () -> {
+            expenseService.getYearlyExpenseSummary();
+        });
 
-        UserSalaryInfo mockSalaryInfo = mock(UserSalaryInfo.class);
-        when(mockSalaryInfo.getUserId()).thenReturn(testUser.getId());
-        when(mockSalaryInfo.getMonthlySalary()).thenReturn(testUserAccounting.getMonthlySalary());
+        verifyNoInteractions(expenseRollupService);
+    }
 
-        when(userAccountingDAO.findUserSalariesByDayOfTheMonth(today))
-                .thenReturn(List.of(mockSalaryInfo));
+    private MonthlyCategoryTotal summaryRow(int month, ExpenseCategory category, String total, long count) {
+        MonthlyCategoryTotal row = mock(MonthlyCategoryTotal.class);
+        when(row.getExpenseMonth()).thenReturn(month);
+        when(row.getCategory()).thenReturn(category);
+        when(row.getTotal()).thenReturn(new BigDecimal(total));
+        when(row.getExpenseCount()).thenReturn(count);
+        return row;
+    }
 
-        List<BigDecimal> expenses = Arrays.asList(new BigDecimal("100.00"), new BigDecimal("200.00"), new BigDecimal("50.00"));
-        BigDecimal totalExpenses = expenses.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal expectedNewBalance = mockSalaryInfo.getMonthlySalary().subtract(totalExpenses);
+    @Test
+    public void testCreditMonthlySalaryMinusRecurrentExpenses() {
 
-        when(expenseDAO.findRecurrentExpensesByUser(testUser.getId())).thenReturn(expenses);
+        LocalDate today = LocalDate.now();
 
         expenseService.creditMonthlySalaryMinusRecurrentExpenses();
 
-        verify(userAccountingDAO).findUserSalariesByDayOfTheMonth(today);
-        verify(expenseDAO).findRecurrentExpensesByUser(testUser.getId());
-        verify(expenseDAO).monthlyBalanceUpdate(testUser.getId(), expectedNewBalance);
+        verify(salaryBatchService).resumeUnfinishedRuns();
+        verify(salaryBatchService).creditSalaries(today);
+        verifyNoInteractions(expenseDAO);
     }
 }
\ No newline at end of file
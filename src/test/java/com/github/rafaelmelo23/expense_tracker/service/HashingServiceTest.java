@@ -1,10 +1,20 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
+import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.service.hashing.BCryptPasswordHasher;
+import com.github.rafaelmelo23.expense_tracker.service.hashing.Pbkdf2PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -94,4 +104,62 @@ public class HashingServiceTest {
                 "Empty password should validate against its hash");
         
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a check is shed instead of queued once every worker is busy and the
+     * queue is full.
+     */
+    @Test
+    public void testSaturatedExecutorSheds() throws InterruptedException {
+        // Given
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HashingService saturated = new HashingService(List.of(new BCryptPasswordHasher(4)), "bcrypt",
+                executor, meterRegistry);
+        String hash = BCrypt.hashpw("password", BCrypt.gensalt(4));
+
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When / Then
+        try {
+            assertThrows(UserException.AuthenticationBusyException.class,
+                    () -> saturated.checkPassword("password", hash));
+            assertEquals(1.0, meterRegistry.get("hashing.rejected").counter().count());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that hashes of another cost or algorithm still verify but are flagged for
+     * re-hashing, while hashes matching the configured parameters are not.
+     */
+    @Test
+    public void testNeedsRehash() {
+        // Given
+        String current = hashingService.hashPassword("password");
+        String otherCost = BCrypt.hashpw("password", BCrypt.gensalt(4));
+        String otherAlgorithm = new Pbkdf2PasswordHasher(1000).hash("password");
+
+        // Then
+        assertFalse(hashingService.needsRehash(current), "A hash with the configured cost is current");
+        assertTrue(hashingService.needsRehash(otherCost), "A lower BCrypt cost should be upgraded");
+        assertTrue(hashingService.needsRehash(otherAlgorithm), "Another algorithm should be migrated");
+        assertTrue(hashingService.checkPassword("password", otherAlgorithm),
+                "Hashes of another algorithm should keep verifying");
+        assertFalse(hashingService.checkPassword("password", "not-a-hash"),
+                "Unrecognized hashes never match");
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.rafaelmelo23.expense_tracker.service;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.github.rafaelmelo23.expense_tracker.dto.auth.VerifiedToken;
 import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
 import com.github.rafaelmelo23.expense_tracker.model.dao.LocalUserDAO;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,6 +14,7 @@ import org.springframework.test.context.TestPropertySource;
 import java.io.UnsupportedEncodingException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -27,6 +31,9 @@ public class JWTServiceTest {
     @Autowired
     private LocalUserDAO localuserDAO;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void testGenerateAndValidateJWT() {
 
@@ -55,6 +62,45 @@ public class JWTServiceTest {
         assertThat(jwtService.isTokenExpired(expiredToken)).isTrue();
     }
 
+    @Test
+    void testVerifyTokenIsServedFromCacheOnRepeatedCalls() {
+
+        LocalUser user = localuserDAO.findById(1001L)
+                .orElseThrow(() -> new IllegalStateException("User with id 1001L not found"));
+
+        String token = jwtService.generateJWT(user);
+        double hitsBefore = cacheGets("hit");
+
+        VerifiedToken first = jwtService.verifyToken(token);
+        VerifiedToken second = jwtService.verifyToken(token);
+
+        assertThat(first.getEmail()).isEqualTo(user.getEmail());
+        assertThat(first.getRole()).isEqualTo(user.getRole().name());
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void testVerifyTokenRejectsTamperedToken() {
+
+        LocalUser user = localuserDAO.findById(1001L)
+                .orElseThrow(() -> new IllegalStateException("User with id 1001L not found"));
+
+        String token = jwtService.generateJWT(user);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThatThrownBy(() -> jwtService.verifyToken(tampered))
+                .isInstanceOf(JWTVerificationException.class);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "jwtVerifiedTokens")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
     private String createExpiredToken(String email, String role, String issuer, String key) throws UnsupportedEncodingException {
         return com.auth0.jwt.JWT.create()
                 .withClaim("EMAIL", email)
@@ -0,0 +1,111 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.auth.AuthenticatedUser;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import com.github.rafaelmelo23.expense_tracker.model.dao.LocalUserDAO;
+import com.github.rafaelmelo23.expense_tracker.model.enums.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PrincipalCacheTest {
+
+    @Mock
+    private LocalUserDAO localUserDAO;
+
+    private MeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private LocalUser testUser;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(localUserDAO, meterRegistry, 100, 60);
+
+        testUser = new LocalUser();
+        testUser.setId(1L);
+        testUser.setEmail("test@example.com");
+        testUser.setFirstName("Test");
+        testUser.setLastName("User");
+        testUser.setPassword("hash");
+        testUser.setRole(Role.ROLE_USER);
+        testUser.setIsFirstLogin(false);
+
+        when(localUserDAO.findByEmailIgnoreCase("test@example.com")).thenReturn(Optional.of(testUser));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testFind_LoadsOnceThenServesFromCache() {
+        AuthenticatedUser first = principalCache.find("test@example.com").orElseThrow();
+        AuthenticatedUser second = principalCache.find("TEST@example.com ").orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1L, first.getId());
+        assertEquals(Role.ROLE_USER, first.getRole());
+        verify(localUserDAO, times(1)).findByEmailIgnoreCase("test@example.com");
+        assertEquals(0.5, meterRegistry.get("principal.cache.hit.ratio").gauge().value());
+        assertEquals(1, meterRegistry.get("principal.cache.load").timer().count());
+    }
+
+    @Test
+    public void testEvict_ForcesReload() {
+        principalCache.find("test@example.com");
+        principalCache.evict("Test@Example.com");
+        principalCache.find("test@example.com");
+
+        verify(localUserDAO, times(2)).findByEmailIgnoreCase("test@example.com");
+    }
+
+    @Test
+    public void testEvict_InsideTransactionWaitsForCommit() {
+        principalCache.find("test@example.com");
+        TransactionSynchronizationManager.initSynchronization();
+
+        principalCache.evict("test@example.com");
+        principalCache.find("test@example.com");
+        verify(localUserDAO, times(1)).findByEmailIgnoreCase("test@example.com");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        principalCache.find("test@example.com");
+        verify(localUserDAO, times(2)).findByEmailIgnoreCase("test@example.com");
+    }
+
+    @Test
+    public void testFind_UnknownEmailIsNotCached() {
+        when(localUserDAO.findByEmailIgnoreCase("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(principalCache.find("ghost@example.com").isEmpty());
+        assertTrue(principalCache.find("ghost@example.com").isEmpty());
+
+        verify(localUserDAO, times(2)).findByEmailIgnoreCase("ghost@example.com");
+    }
+
+    @Test
+    public void testSnapshot_RoundTripsToDetachedUserWithoutPassword() {
+        LocalUser detached = principalCache.find("test@example.com").orElseThrow().toLocalUser();
+
+        assertEquals(testUser.getId(), detached.getId());
+        assertEquals(testUser.getEmail(), detached.getEmail());
+        assertNull(detached.getPassword());
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
+import com.github.rafaelmelo23.expense_tracker.model.enums.BalanceEntrySource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class RealtimeEventPublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SimpUserRegistry userRegistry;
+
+    private MeterRegistry meterRegistry;
+    private RealtimeEventPublisher realtimeEventPublisher;
+
+    private final BalanceEvent event =
+            BalanceEvent.change(BalanceEntrySource.EXPENSE, new BigDecimal("-10.00"), new BigDecimal("90.00"));
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        meterRegistry = new SimpleMeterRegistry();
+        realtimeEventPublisher = new RealtimeEventPublisher(messagingTemplate, userRegistry, meterRegistry);
+        when(userRegistry.getUser("1")).thenReturn(mock(SimpUser.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testBalanceChanged_SendsToConnectedUser() {
+        realtimeEventPublisher.balanceChanged(1L, event);
+
+        verify(messagingTemplate).convertAndSendToUser("1", RealtimeEventPublisher.BALANCE_DESTINATION, event);
+        assertEquals(1.0, meterRegistry.get("realtime.events.sent").counter().count());
+    }
+
+    @Test
+    public void testBalanceChanged_SkipsUserWithoutSession() {
+        realtimeEventPublisher.balanceChanged(2L, event);
+
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    public void testBalanceChanged_InsideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        realtimeEventPublisher.balanceChanged(1L, event);
+        verifyNoInteractions(messagingTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(messagingTemplate).convertAndSendToUser("1", RealtimeEventPublisher.BALANCE_DESTINATION, event);
+    }
+
+    @Test
+    public void testBalanceChanged_SaturatedBrokerDropsEvent() {
+        doThrow(new MessageDeliveryException("queue full"))
+                .when(messagingTemplate).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+
+        realtimeEventPublisher.balanceChanged(1L, event);
+
+        assertEquals(1.0, meterRegistry.get("realtime.events.dropped").counter().count());
+        assertEquals(0.0, meterRegistry.get("realtime.events.sent").counter().count());
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecurrenceExpanderTest {
+
+    private static final LocalDateTime YEAR_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime YEAR_END = LocalDateTime.of(2025, 12, 31, 23, 59, 59);
+
+    @Test
+    public void testForEachOccurrence_MonthEndAnchorDoesNotDrift() {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+
+        RecurrenceExpander.forEachOccurrence(LocalDateTime.of(2025, 1, 31, 8, 0), RecurrenceFrequency.MONTHLY,
+                YEAR_START, LocalDateTime.of(2025, 4, 30, 23, 59, 59), occurrences::add);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2025, 1, 31, 8, 0),
+                LocalDateTime.of(2025, 2, 28, 8, 0),
+                LocalDateTime.of(2025, 3, 31, 8, 0),
+                LocalDateTime.of(2025, 4, 30, 8, 0)), occurrences);
+    }
+
+    @Test
+    public void testForEachOccurrence_StartsAtFirstOccurrenceInsideRange() {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+
+        RecurrenceExpander.forEachOccurrence(LocalDateTime.of(2020, 5, 1, 10, 0), RecurrenceFrequency.MONTHLY,
+                LocalDateTime.of(2025, 5, 1, 10, 0, 1), LocalDateTime.of(2025, 7, 1, 10, 0), occurrences::add);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2025, 6, 1, 10, 0),
+                LocalDateTime.of(2025, 7, 1, 10, 0)), occurrences);
+    }
+
+    @Test
+    public void testCountOccurrences_Weekly() {
+        // 2025-01-06 is a Monday; 2025 has 52 Mondays from then on
+        assertEquals(52, RecurrenceExpander.countOccurrences(
+                LocalDateTime.of(2025, 1, 6, 0, 0), RecurrenceFrequency.WEEKLY, YEAR_START, YEAR_END));
+    }
+
+    @Test
+    public void testCountOccurrences_YearlyLeapDay() {
+        LocalDateTime leapDay = LocalDateTime.of(2024, 2, 29, 0, 0);
+
+        assertEquals(1, RecurrenceExpander.countOccurrences(leapDay, RecurrenceFrequency.YEARLY, YEAR_START, YEAR_END));
+        assertEquals(11, RecurrenceExpander.countOccurrences(leapDay, RecurrenceFrequency.YEARLY,
+                leapDay, LocalDateTime.of(2034, 12, 31, 0, 0)));
+    }
+
+    @Test
+    public void testCountOccurrences_RangeBeforeAnchorIsEmpty() {
+        assertEquals(0, RecurrenceExpander.countOccurrences(
+                LocalDateTime.of(2026, 1, 1, 0, 0), RecurrenceFrequency.MONTHLY, YEAR_START, YEAR_END));
+    }
+}
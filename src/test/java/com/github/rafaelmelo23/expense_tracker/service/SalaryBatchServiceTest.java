@@ -0,0 +1,186 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.dto.expense.BalanceEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration test for {@link SalaryBatchService} against the H2 schema, using a small
+ * chunk size so a single run spans several keyset pages and worker tasks.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "salary.batch.chunk-size=2",
+        "salary.batch.workers=2"
+})
+public class SalaryBatchServiceTest {
+
+    private static final int SALARY_DAY = 20;
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 6, SALARY_DAY);
+    private static final long FIRST_USER_ID = 2001L;
+    private static final int USERS = 5;
+
+    @Autowired
+    private SalaryBatchService salaryBatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private RealtimeEventPublisher realtimeEventPublisher;
+
+    @BeforeEach
+    public void setUp() {
+        for (long id = FIRST_USER_ID; id < FIRST_USER_ID + USERS; id++) {
+            jdbcTemplate.update("INSERT INTO local_user (id, first_name, last_name, email, password, role, is_first_login) " +
+                    "VALUES (?, 'Batch', 'User', ?, 'x', 'ROLE_USER', FALSE)", id, "batch" + id + "@example.com");
+            jdbcTemplate.update("INSERT INTO user_accounting (id, salary_date, monthly_salary, current_balance, local_user_id) " +
+                    "VALUES (?, ?, 1000.00, 5.00, ?)", id, SALARY_DAY, id);
+        }
+
+        // Two recurrent expenses for the first user, one non-recurrent that must be ignored
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (2001, 'Rent', 'HOUSING', 300.00, '2025-01-01 00:00:00', TRUE, 2001)");
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (2002, 'Gym', 'HEALTH', 50.00, '2025-01-01 00:00:00', TRUE, 2001)");
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (2003, 'Dinner', 'FOOD', 80.00, '2025-01-01 00:00:00', FALSE, 2001)");
+        // One recurrent expense for the last user, which lands in the last, partial chunk
+        jdbcTemplate.update("INSERT INTO expense (id, name, category, amount, date, is_recurrent, user_id) " +
+                "VALUES (2004, 'Phone', 'UTILITIES', 100.00, '2025-01-01 00:00:00', TRUE, 2005)");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM salary_run");
+        jdbcTemplate.update("DELETE FROM balance_journal WHERE user_id BETWEEN ? AND ?", FIRST_USER_ID, FIRST_USER_ID + USERS);
+        jdbcTemplate.update("DELETE FROM expense WHERE user_id BETWEEN ? AND ?", FIRST_USER_ID, FIRST_USER_ID + USERS);
+        jdbcTemplate.update("DELETE FROM user_accounting WHERE local_user_id BETWEEN ? AND ?", FIRST_USER_ID, FIRST_USER_ID + USERS);
+        jdbcTemplate.update("DELETE FROM local_user WHERE id BETWEEN ? AND ?", FIRST_USER_ID, FIRST_USER_ID + USERS);
+    }
+
+    @Test
+    public void testCreditSalaries_CreditsEveryUserAcrossChunks() {
+        long credited = salaryBatchService.creditSalaries(RUN_DATE);
+
+        assertEquals(USERS, credited);
+        assertEquals(new BigDecimal("650.00"), balanceOf(2001L));
+        assertEquals(new BigDecimal("1000.00"), balanceOf(2002L));
+        assertEquals(new BigDecimal("1000.00"), balanceOf(2003L));
+        assertEquals(new BigDecimal("1000.00"), balanceOf(2004L));
+        assertEquals(new BigDecimal("900.00"), balanceOf(2005L));
+        assertEquals("COMPLETED", runStatus());
+        assertEquals(2005L, jdbcTemplate.queryForObject(
+                "SELECT cursor_user_id FROM salary_run WHERE run_date = ?", Long.class, RUN_DATE));
+    }
+
+    @Test
+    public void testCreditSalaries_CompletedRunIsNotRepeated() {
+        salaryBatchService.creditSalaries(RUN_DATE);
+        jdbcTemplate.update("UPDATE user_accounting SET current_balance = 1.00 WHERE local_user_id = 2002");
+
+        long credited = salaryBatchService.creditSalaries(RUN_DATE);
+
+        assertEquals(0, credited);
+        assertEquals(new BigDecimal("1.00"), balanceOf(2002L));
+    }
+
+    @Test
+    public void testResumeUnfinishedRuns_ContinuesFromCheckpoint() {
+        // A run that crashed after checkpointing the first chunk (users 2001 and 2002)
+        jdbcTemplate.update("INSERT INTO salary_run (run_date, salary_day, cursor_user_id, status, users_credited, " +
+                "started_at, updated_at) VALUES (?, ?, 2002, 'RUNNING', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                RUN_DATE, SALARY_DAY);
+
+        salaryBatchService.resumeUnfinishedRuns();
+
+        assertEquals(new BigDecimal("5.00"), balanceOf(2001L));
+        assertEquals(new BigDecimal("5.00"), balanceOf(2002L));
+        assertEquals(new BigDecimal("1000.00"), balanceOf(2003L));
+        assertEquals(new BigDecimal("900.00"), balanceOf(2005L));
+        assertEquals("COMPLETED", runStatus());
+        assertEquals(5L, jdbcTemplate.queryForObject(
+                "SELECT users_credited FROM salary_run WHERE run_date = ?", Long.class, RUN_DATE));
+    }
+
+    @Test
+    public void testCreditSalaries_SkipsUsersCreditedPastTheCheckpoint() {
+        // A chunk committed but the run died before its checkpoint was written
+        jdbcTemplate.update("UPDATE user_accounting SET current_balance = 1000.00, last_salary_credit_date = ? " +
+                "WHERE local_user_id IN (2003, 2004)", RUN_DATE);
+
+        long credited = salaryBatchService.creditSalaries(RUN_DATE);
+
+        assertEquals(USERS - 2, credited);
+        assertEquals(new BigDecimal("1000.00"), balanceOf(2003L));
+        assertEquals(new BigDecimal("650.00"), balanceOf(2001L));
+    }
+
+    @Test
+    public void testCreditSalaries_DiscardsPendingJournalOfCreditedUsersOnly() {
+        jdbcTemplate.update("UPDATE user_accounting SET last_salary_credit_date = ? WHERE local_user_id = 2003", RUN_DATE);
+        for (long userId : new long[]{2002L, 2003L}) {
+            jdbcTemplate.update("INSERT INTO balance_journal (id, user_id, amount, source, created_at) " +
+                    "VALUES (?, ?, -7.00, 'EXPENSE', CURRENT_TIMESTAMP)", userId, userId);
+        }
+
+        salaryBatchService.creditSalaries(RUN_DATE);
+
+        assertEquals(0L, journalEntries(2002L));
+        assertEquals(1L, journalEntries(2003L));
+        assertEquals(new BigDecimal("1000.00"), balanceOf(2002L));
+    }
+
+    @Test
+    public void testCreditSalaries_PushesNewBalanceToCreditedUsersOnly() {
+        jdbcTemplate.update("UPDATE user_accounting SET last_salary_credit_date = ? WHERE local_user_id = 2003", RUN_DATE);
+
+        salaryBatchService.creditSalaries(RUN_DATE);
+
+        verify(realtimeEventPublisher).balanceChanged(2001L, BalanceEvent.salaryCredit(new BigDecimal("650.00")));
+        verify(realtimeEventPublisher).balanceChanged(2005L, BalanceEvent.salaryCredit(new BigDecimal("900.00")));
+        verify(realtimeEventPublisher, never()).balanceChanged(eq(2003L), any());
+        verify(realtimeEventPublisher, times(USERS - 1)).balanceChanged(anyLong(), any());
+    }
+
+    @Test
+    public void testCreditSalaries_LeavesOtherDaysUntouched() {
+        BigDecimal anakinBefore = balanceOf(1001L);
+
+        salaryBatchService.creditSalaries(RUN_DATE);
+
+        assertEquals(anakinBefore, balanceOf(1001L));
+    }
+
+    private long journalEntries(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balance_journal WHERE user_id = ?", Long.class, userId);
+    }
+
+    private String runStatus() {
+        return jdbcTemplate.queryForObject("SELECT status FROM salary_run WHERE run_date = ?", String.class, RUN_DATE);
+    }
+
+    private BigDecimal balanceOf(Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT current_balance FROM user_accounting WHERE local_user_id = ?", BigDecimal.class, userId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.rafaelmelo23.expense_tracker.service;
+
+import com.github.rafaelmelo23.expense_tracker.exception.UserException;
+import com.github.rafaelmelo23.expense_tracker.model.LocalUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class UserDataVersionServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    private UserDataVersionService userDataVersionService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        userDataVersionService = new UserDataVersionService(userService, 100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testEtag_StableUntilBumped() {
+        String first = userDataVersionService.etag(1L, "2025");
+
+        assertEquals(first, userDataVersionService.etag(1L, "2025"));
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+
+        userDataVersionService.bump(1L);
+
+        assertNotEquals(first, userDataVersionService.etag(1L, "2025"));
+    }
+
+    @Test
+    public void testEtag_DiffersPerScope() {
+        String year2025 = userDataVersionService.etag(1L, "2025");
+        String year2026 = userDataVersionService.etag(1L, "2026");
+
+        assertNotEquals(year2025, year2026);
+        assertEquals(year2026, userDataVersionService.etag(1L, "2026"));
+    }
+
+    @Test
+    public void testBump_InsideTransactionWaitsForCommit() {
+        String before = userDataVersionService.etag(1L, "2025");
+        TransactionSynchronizationManager.initSynchronization();
+
+        userDataVersionService.bump(1L);
+        assertEquals(before, userDataVersionService.etag(1L, "2025"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(before, userDataVersionService.etag(1L, "2025"));
+    }
+
+    @Test
+    public void testBump_LeavesOtherUsersUntouched() {
+        String other = userDataVersionService.etag(2L, "2025");
+
+        userDataVersionService.bump(1L);
+
+        assertEquals(other, userDataVersionService.etag(2L, "2025"));
+    }
+
+    @Test
+    public void testCurrentEtag_UserNotAuthenticated() {
+        when(userService.getAuthenticatedUser()).thenReturn(null);
+
+        assertThrows(UserException.UserNotAuthenticatedException.class, () -> userDataVersionService.currentEtag("2025"));
+    }
+
+    @Test
+    public void testCurrentEtag_UsesAuthenticatedUser() {
+        LocalUser user = new LocalUser();
+        user.setId(7L);
+        when(userService.getAuthenticatedUser()).thenReturn(user);
+
+        assertEquals(userDataVersionService.etag(7L, "2025"), userDataVersionService.currentEtag("2025"));
+    }
+}
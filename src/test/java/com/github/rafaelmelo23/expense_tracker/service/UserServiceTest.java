@@ -11,10 +11,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
@@ -37,6 +40,9 @@ public class UserServiceTest {
     @Autowired
     private HashingService hashingService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private RegistrationBody validRegistration;
 
     @BeforeEach
@@ -103,6 +109,33 @@ public class UserServiceTest {
         assertNotNull(result.getJwtToken());
     }
 
+    @Test
+    @DisplayName("Login user - outdated hash is re-hashed in the background")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void loginUserRehashesOutdatedHash() throws InterruptedException {
+        // Arrange - a committed user whose hash uses a lower cost than configured
+        String outdatedHash = BCrypt.hashpw("password", BCrypt.gensalt(4));
+        jdbcTemplate.update("INSERT INTO local_user (id, first_name, last_name, email, password, role, is_first_login) " +
+                "VALUES (3001, 'Old', 'Hash', 'oldhash@example.com', ?, 'ROLE_USER', FALSE)", outdatedHash);
+
+        try {
+            // Act
+            userService.loginUser("oldhash@example.com", "password");
+
+            // Assert - the stored hash is replaced once the background hash finishes
+            String storedHash = outdatedHash;
+            for (int attempt = 0; attempt < 100 && storedHash.equals(outdatedHash); attempt++) {
+                Thread.sleep(100);
+                storedHash = jdbcTemplate.queryForObject("SELECT password FROM local_user WHERE id = 3001", String.class);
+            }
+            assertNotEquals(outdatedHash, storedHash);
+            assertFalse(hashingService.needsRehash(storedHash));
+            assertTrue(hashingService.checkPassword("password", storedHash));
+        } finally {
+            jdbcTemplate.update("DELETE FROM local_user WHERE id = 3001");
+        }
+    }
+
     @Test
     @DisplayName("Login user - wrong password")
     void loginUserWrongPassword() {
@@ -0,0 +1,186 @@
+package com.github.rafaelmelo23.expense_tracker.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rafaelmelo23.expense_tracker.dto.expense.ExpenseExportRow;
+import com.github.rafaelmelo23.expense_tracker.exception.ExpenseException;
+import com.github.rafaelmelo23.expense_tracker.model.enums.ExpenseCategory;
+import com.github.rafaelmelo23.expense_tracker.model.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpenseExportWriterTest {
+
+    private static final ExpenseExportRow COFFEE = new ExpenseExportRow(1L, LocalDateTime.of(2025, 1, 2, 8, 30),
+            new BigDecimal("3.50"), "Coffee", ExpenseCategory.FOOD, null, false, null);
+    private static final ExpenseExportRow RENT = new ExpenseExportRow(7L, LocalDateTime.of(2025, 1, 5, 0, 0),
+            new BigDecimal("1500.00"), "Rent, flat", ExpenseCategory.HOUSING, "Say \"hi\"\nto the landlord",
+            true, RecurrenceFrequency.MONTHLY);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testCsv_QuotesOnlyFieldsThatNeedIt() throws IOException {
+        String csv = write(ExpenseExportFormat.CSV, List.of(COFFEE, RENT));
+
+        assertEquals("id,date,amount,name,category,description,recurrent,frequency\r\n" +
+                "1,2025-01-02T08:30,3.50,Coffee,FOOD,,false,\r\n" +
+                "7,2025-01-05T00:00,1500.00,\"Rent, flat\",HOUSING,\"Say \"\"hi\"\"\nto the landlord\",true,MONTHLY\r\n", csv);
+    }
+
+    @Test
+    public void testJsonLines_OneObjectPerLineWithDtoFieldNames() throws IOException {
+        String[] lines = write(ExpenseExportFormat.JSON_LINES, List.of(COFFEE, RENT)).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode rent = objectMapper.readTree(lines[1]);
+        assertEquals(7, rent.get("id").asLong());
+        assertEquals("2025-01-05T00:00", rent.get("expenseDate").asText());
+        assertTrue(lines[1].contains("\"expenseAmount\":1500.00"));
+        assertEquals("MONTHLY", rent.get("recurrenceFrequency").asText());
+        assertTrue(rent.get("isRecurrent").asBoolean());
+        assertFalse(objectMapper.readTree(lines[0]).has("description"));
+    }
+
+    @Test
+    public void testJsonLines_EmptyExportIsEmpty() throws IOException {
+        assertEquals("", write(ExpenseExportFormat.JSON_LINES, List.of()));
+    }
+
+    @Test
+    public void testColumnar_RoundTripsAcrossRowGroups() throws IOException {
+        List<ExpenseExportRow> rows = new ArrayList<>();
+        int count = ColumnarExpenseExportWriter.ROW_GROUP_SIZE + 10;
+        for (int i = 0; i < count; i++) {
+            rows.add(i % 2 == 0
+                    ? new ExpenseExportRow((long) i + 1, COFFEE.getDate().plusMinutes(i), COFFEE.getAmount(),
+                    COFFEE.getName(), COFFEE.getCategory(), null, false, null)
+                    : new ExpenseExportRow((long) i + 1, RENT.getDate().plusMinutes(i), RENT.getAmount(),
+                    RENT.getName(), RENT.getCategory(), RENT.getDescription(), true, RENT.getFrequency()));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExpenseExportWriter writer = ExpenseExportFormat.COLUMNAR.open(out, objectMapper.getFactory());
+        for (ExpenseExportRow row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+
+        assertEquals(rows, readColumnar(out.toByteArray()));
+    }
+
+    @Test
+    public void testFromParameter() {
+        assertEquals(ExpenseExportFormat.CSV, ExpenseExportFormat.fromParameter(null));
+        assertEquals(ExpenseExportFormat.JSON_LINES, ExpenseExportFormat.fromParameter("jsonl"));
+        assertEquals(ExpenseExportFormat.JSON_LINES, ExpenseExportFormat.fromParameter("json-lines"));
+        assertEquals(ExpenseExportFormat.COLUMNAR, ExpenseExportFormat.fromParameter("Columnar"));
+        assertThrows(ExpenseException.InvalidExpenseDataException.class,
+                () -> ExpenseExportFormat.fromParameter("xlsx"));
+    }
+
+    private String write(ExpenseExportFormat format, List<ExpenseExportRow> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExpenseExportWriter writer = format.open(out, objectMapper.getFactory());
+        for (ExpenseExportRow row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reference decoder for the layout documented on {@link ColumnarExpenseExportWriter}.
+     */
+    private static List<ExpenseExportRow> readColumnar(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte[] magic = in.readNBytes(4);
+        assertArrayEquals(ColumnarExpenseExportWriter.MAGIC, magic);
+        assertEquals(ColumnarExpenseExportWriter.VERSION, in.readByte());
+
+        List<ExpenseExportRow> result = new ArrayList<>();
+        int rows;
+        while ((rows = (int) readVarint(in)) > 0) {
+            long[] ids = readDeltas(in, rows);
+            long[] seconds = readDeltas(in, rows);
+            int scale = in.readByte();
+            BigDecimal[] amounts = new BigDecimal[rows];
+            for (int i = 0; i < rows; i++) {
+                amounts[i] = BigDecimal.valueOf(unzigzag(readVarint(in)), scale);
+            }
+            int[] categories = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                categories[i] = in.readUnsignedByte();
+            }
+            byte[] recurrent = in.readNBytes((rows + 7) / 8);
+            int[] frequencies = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                frequencies[i] = in.readUnsignedByte();
+            }
+            String[] names = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                names[i] = readText(in);
+            }
+            String[] descriptions = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                descriptions[i] = readText(in);
+            }
+
+            for (int i = 0; i < rows; i++) {
+                result.add(new ExpenseExportRow(ids[i],
+                        LocalDateTime.ofEpochSecond(seconds[i], 0, ZoneOffset.UTC),
+                        amounts[i],
+                        names[i],
+                        categories[i] == 0 ? null : ExpenseCategory.values()[categories[i] - 1],
+                        descriptions[i],
+                        (recurrent[i / 8] & (1 << (i % 8))) != 0,
+                        frequencies[i] == 0 ? null : RecurrenceFrequency.values()[frequencies[i] - 1]));
+            }
+        }
+        assertEquals(-1, in.read());
+        return result;
+    }
+
+    private static long[] readDeltas(DataInputStream in, int rows) throws IOException {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(readVarint(in));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        int length = (int) readVarint(in);
+        return length == 0 ? null : new String(in.readNBytes(length - 1), StandardCharsets.UTF_8);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.rafaelmelo23.expense_tracker.service.hashing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    private static final String PASSWORD = "securePassword123!";
+
+    @Test
+    public void testBCrypt_RoundTripAndCostChange() {
+        BCryptPasswordHasher hasher = new BCryptPasswordHasher(5);
+        String hash = hasher.hash(PASSWORD);
+
+        assertTrue(hasher.recognizes(hash));
+        assertTrue(hasher.matches(PASSWORD, hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertFalse(hasher.needsRehash(hash));
+        assertTrue(new BCryptPasswordHasher(4).needsRehash(hash), "A lower target cost is a downgrade");
+        assertTrue(new BCryptPasswordHasher(6).needsRehash(hash), "A higher target cost is an upgrade");
+    }
+
+    @Test
+    public void testPbkdf2_RoundTripAndIterationChange() {
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000);
+        String hash = hasher.hash(PASSWORD);
+
+        assertTrue(hash.startsWith("$pbkdf2-sha256$i=1000$"));
+        assertTrue(hasher.recognizes(hash));
+        assertTrue(hasher.matches(PASSWORD, hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertFalse(hasher.needsRehash(hash));
+        assertTrue(new Pbkdf2PasswordHasher(2000).needsRehash(hash));
+        assertTrue(new Pbkdf2PasswordHasher(2000).matches(PASSWORD, hash), "Old iteration counts keep verifying");
+    }
+
+    @Test
+    public void testPbkdf2_MalformedHashNeverMatches() {
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000);
+
+        assertFalse(hasher.matches(PASSWORD, "$pbkdf2-sha256$"));
+        assertFalse(hasher.matches(PASSWORD, "$pbkdf2-sha256$i=abc$c2FsdA$aGFzaA"));
+        assertFalse(hasher.matches(PASSWORD, "$pbkdf2-sha256$i=1000$not base64!$aGFzaA"));
+        assertFalse(hasher.matches(PASSWORD, "$pbkdf2-sha256$i=0$c2FsdA$aGFzaA"));
+        assertFalse(hasher.matches(PASSWORD, "$pbkdf2-sha256$i=1000$$aGFzaA"));
+        assertTrue(hasher.needsRehash("$pbkdf2-sha256$i=abc$c2FsdA$aGFzaA"));
+    }
+
+    @Test
+    public void testArgon2_RoundTripAndParameterChange() {
+        Argon2PasswordHasher hasher = new Argon2PasswordHasher(1024, 1, 1);
+        String hash = hasher.hash(PASSWORD);
+
+        assertTrue(hasher.recognizes(hash));
+        assertTrue(hasher.matches(PASSWORD, hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertFalse(hasher.needsRehash(hash));
+        assertTrue(new Argon2PasswordHasher(2048, 1, 1).needsRehash(hash));
+    }
+
+    @Test
+    public void testRecognizes_OnlyOwnFormat() {
+        String bcrypt = new BCryptPasswordHasher(4).hash(PASSWORD);
+        String pbkdf2 = new Pbkdf2PasswordHasher(1000).hash(PASSWORD);
+
+        assertFalse(new Pbkdf2PasswordHasher(1000).recognizes(bcrypt));
+        assertFalse(new Argon2PasswordHasher(1024, 1, 1).recognizes(bcrypt));
+        assertFalse(new BCryptPasswordHasher(4).recognizes(pbkdf2));
+    }
+}
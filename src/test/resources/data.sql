@@ -22,6 +22,7 @@ CREATE TABLE user_accounting (
                                  salary_date INT,
                                  monthly_salary DECIMAL(10, 2),
                                  current_balance DECIMAL(10, 2),
+                                 last_salary_credit_date DATE,
                                  local_user_id BIGINT,
                                  FOREIGN KEY (local_user_id) REFERENCES local_user(id)
 );
@@ -43,6 +44,7 @@ CREATE TABLE expense (
                          date TIMESTAMP,
                          description VARCHAR(255),
                          is_recurrent BOOLEAN,
+                         recurrence_frequency VARCHAR(20),
                          user_id BIGINT,
                          FOREIGN KEY (user_id) REFERENCES local_user(id)
 );
@@ -107,4 +109,7 @@ INSERT INTO user_additions_log (
       (1001, 1001, 500.00, 'Bonus from freelance job', '2025-05-05 12:00:00'),
       (1002, 1002, 300.00, 'Reimbursement for travel','2025-05-06 09:45:00');
 
+-- Generated expense ids start above the hand-assigned ones used by the seed data and tests
+ALTER SEQUENCE IF EXISTS expense_seq RESTART WITH 100000;
+
 SET REFERENTIAL_INTEGRITY TRUE;